@@ -0,0 +1,227 @@
+package com.hkd.auth.application.audit;
+
+import com.hkd.auth.application.config.AuditConfig;
+import com.hkd.auth.domain.audit.AuditEvent;
+import com.hkd.auth.domain.audit.AuditSink;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 审计事件发布器
+ * RPC线程将事件写入无锁环形队列后立即返回，后台线程按批写入AuditSink，
+ * 数据库写入延迟不会进入RPC调用路径
+ *
+ * @author HKD Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+public class AuditPublisher implements SmartLifecycle {
+
+    /**
+     * BLOCK策略下生产者的重试间隔
+     */
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final AuditConfig auditConfig;
+    private final AuditSink auditSink;
+    private final MpscRingBuffer<AuditEvent> buffer;
+
+    /**
+     * 队列中积压到该数量时唤醒空闲的写入线程（一批，或队列容量更小时为整个队列）
+     */
+    private final int wakeThreshold;
+
+    private final Counter publishedCounter;
+    private final Counter droppedCounter;
+    private final Counter writtenCounter;
+    private final Counter failedCounter;
+    private final Timer flushTimer;
+
+    private volatile boolean running;
+    private volatile Thread writerThread;
+
+    /**
+     * 写入线程正在等待下一个写入时间点，队列攒满一批时由生产者唤醒
+     */
+    private volatile boolean writerIdle;
+
+    public AuditPublisher(AuditConfig auditConfig, AuditSink auditSink, MeterRegistry meterRegistry) {
+        this.auditConfig = auditConfig;
+        this.auditSink = auditSink;
+        this.buffer = new MpscRingBuffer<>(auditConfig.getBufferSize());
+        this.wakeThreshold = Math.min(auditConfig.getBatchSize(), buffer.capacity());
+
+        Gauge.builder("hkd.audit.queue.depth", buffer, MpscRingBuffer::size)
+                .description("审计队列中等待写入的事件数")
+                .register(meterRegistry);
+        Gauge.builder("hkd.audit.queue.capacity", buffer, MpscRingBuffer::capacity)
+                .description("审计队列容量")
+                .register(meterRegistry);
+        this.publishedCounter = Counter.builder("hkd.audit.events.published")
+                .description("进入审计队列的事件数")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("hkd.audit.events.dropped")
+                .description("因队列已满被丢弃的事件数")
+                .register(meterRegistry);
+        this.writtenCounter = Counter.builder("hkd.audit.events.written")
+                .description("成功写入存储的事件数")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("hkd.audit.events.failed")
+                .description("重试后仍写入失败或被存储拒绝而丢弃的事件数")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("hkd.audit.flush")
+                .description("单批写入耗时")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 发布审计事件（可由任意线程调用，不会阻塞在数据库写入上）
+     *
+     * @return 事件是否进入队列
+     */
+    public boolean publish(AuditEvent event) {
+        if (!auditConfig.getEnabled()) {
+            return false;
+        }
+
+        if (buffer.offer(event)) {
+            onPublished();
+            return true;
+        }
+
+        if (auditConfig.getOverflowPolicy() == OverflowPolicy.BLOCK) {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(auditConfig.getBlockTimeoutMillis());
+            while (System.nanoTime() < deadline) {
+                LockSupport.parkNanos(BLOCK_PARK_NANOS);
+                if (buffer.offer(event)) {
+                    onPublished();
+                    return true;
+                }
+            }
+        }
+
+        droppedCounter.increment();
+        log.debug("审计队列已满，丢弃事件: type={}, userId={}", event.getType(), event.getUserId());
+        return false;
+    }
+
+    private void onPublished() {
+        publishedCounter.increment();
+        if (writerIdle && buffer.size() >= wakeThreshold) {
+            LockSupport.unpark(writerThread);
+        }
+    }
+
+    /**
+     * 审计关闭时不启动写入线程
+     */
+    @Override
+    public synchronized void start() {
+        if (running || !auditConfig.getEnabled()) {
+            return;
+        }
+        running = true;
+        writerThread = new Thread(this::writeLoop, "audit-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        log.info("审计写入线程已启动: bufferSize={}, batchSize={}, overflowPolicy={}",
+                buffer.capacity(), auditConfig.getBatchSize(), auditConfig.getOverflowPolicy());
+    }
+
+    /**
+     * 停止写入线程，退出前写完队列中剩余的事件
+     */
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("审计写入线程已停止，未写入事件数: {}", buffer.size());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * 早于gRPC服务启动、晚于其停止，停机期间产生的事件也能写入
+     */
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    private void writeLoop() {
+        int batchSize = auditConfig.getBatchSize();
+        long flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(auditConfig.getFlushIntervalMillis());
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        long lastFlush = System.nanoTime();
+
+        while (running || buffer.size() > 0) {
+            int drained = buffer.drain(batch::add, batchSize - batch.size());
+
+            boolean full = batch.size() >= batchSize;
+            boolean due = System.nanoTime() - lastFlush >= flushIntervalNanos;
+            if (!batch.isEmpty() && (full || due || !running)) {
+                flush(batch);
+                batch.clear();
+                lastFlush = System.nanoTime();
+            } else if (drained == 0) {
+                // 队列已空：等到下一个写入时间点，攒满一批或停止时提前唤醒
+                long waitNanos = batch.isEmpty()
+                        ? flushIntervalNanos
+                        : lastFlush + flushIntervalNanos - System.nanoTime();
+                writerIdle = true;
+                if (running && buffer.size() < wakeThreshold) {
+                    LockSupport.parkNanos(this, waitNanos);
+                }
+                writerIdle = false;
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            flush(batch);
+        }
+    }
+
+    private void flush(List<AuditEvent> batch) {
+        int attempts = auditConfig.getMaxRetries() + 1;
+        for (int attempt = 1; attempt <= attempts; attempt++) {
+            try {
+                int written = flushTimer.recordCallable(() -> auditSink.write(batch));
+                writtenCounter.increment(written);
+                if (written < batch.size()) {
+                    // 被存储拒绝的事件重试也无法写入，直接计入失败
+                    failedCounter.increment(batch.size() - written);
+                }
+                return;
+            } catch (Exception e) {
+                log.error("审计事件写入失败: size={}, attempt={}/{}, error={}",
+                        batch.size(), attempt, attempts, e.getMessage());
+                if (attempt < attempts) {
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(100L * attempt));
+                }
+            }
+        }
+        failedCounter.increment(batch.size());
+    }
+}
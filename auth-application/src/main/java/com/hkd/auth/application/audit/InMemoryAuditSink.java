@@ -0,0 +1,39 @@
+package com.hkd.auth.application.audit;
+
+import com.hkd.auth.domain.audit.AuditEvent;
+import com.hkd.auth.domain.audit.AuditSink;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 内存审计存储
+ * 用于测试和本地开发，替代数据库
+ *
+ * @author HKD Team
+ * @since 1.0.0
+ */
+public class InMemoryAuditSink implements AuditSink {
+
+    private final List<AuditEvent> events = new ArrayList<>();
+
+    @Override
+    public synchronized int write(List<AuditEvent> batch) {
+        events.addAll(batch);
+        return batch.size();
+    }
+
+    /**
+     * 获取已写入的全部事件（副本）
+     */
+    public synchronized List<AuditEvent> getEvents() {
+        return new ArrayList<>(events);
+    }
+
+    /**
+     * 清空已写入的事件
+     */
+    public synchronized void clear() {
+        events.clear();
+    }
+}
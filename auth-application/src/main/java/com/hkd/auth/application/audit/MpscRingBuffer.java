@@ -0,0 +1,116 @@
+package com.hkd.auth.application.audit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * 有界无锁多生产者单消费者环形队列
+ * 每个槽位带序号（Vyukov算法）：生产者通过CAS抢占写入位置，消费者按序号判断槽位是否就绪，
+ * 生产者之间只竞争一个CAS，不需要加锁
+ *
+ * @author HKD Team
+ * @since 1.0.0
+ */
+public class MpscRingBuffer<E> {
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<E> slots;
+
+    /**
+     * 槽位序号：等于写入位置表示可写，等于写入位置+1表示可读
+     */
+    private final AtomicLongArray sequences;
+
+    /**
+     * 下一个写入位置（生产者竞争）
+     */
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * 下一个读取位置（仅消费者线程写入）
+     */
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * @param requestedCapacity 期望容量，向上取整为2的幂
+     */
+    public MpscRingBuffer(int requestedCapacity) {
+        if (requestedCapacity <= 0 || requestedCapacity > (1 << 30)) {
+            throw new IllegalArgumentException("队列容量无效: " + requestedCapacity);
+        }
+        this.capacity = requestedCapacity == 1 ? 1 : Integer.highestOneBit(requestedCapacity - 1) << 1;
+        this.mask = capacity - 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * 写入元素（可由任意线程调用）
+     *
+     * @return 队列已满时返回false
+     */
+    public boolean offer(E element) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long diff = sequences.get(index) - position;
+            if (diff == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.lazySet(index, element);
+                    // 发布槽位，消费者读到序号后即可见元素
+                    sequences.lazySet(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (diff < 0) {
+                // 槽位仍未被消费者释放，队列已满
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * 读取最多maxElements个元素（仅允许单一消费者线程调用）
+     *
+     * @return 实际读取的数量
+     */
+    public int drain(Consumer<E> consumer, int maxElements) {
+        long position = head.get();
+        int drained = 0;
+        while (drained < maxElements) {
+            int index = (int) (position & mask);
+            if (sequences.get(index) != position + 1) {
+                break;
+            }
+            E element = slots.get(index);
+            slots.lazySet(index, null);
+            // 释放槽位给下一轮的生产者
+            sequences.lazySet(index, position + capacity);
+            position++;
+            drained++;
+            consumer.accept(element);
+        }
+        head.lazySet(position);
+        return drained;
+    }
+
+    /**
+     * 当前元素数量（近似值，仅用于监控）
+     */
+    public int size() {
+        long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(size, capacity));
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,20 @@
+package com.hkd.auth.application.audit;
+
+/**
+ * 审计队列已满时的处理策略
+ *
+ * @author HKD Team
+ * @since 1.0.0
+ */
+public enum OverflowPolicy {
+
+    /**
+     * 立即丢弃新事件并计数，RPC线程永不等待
+     */
+    DROP,
+
+    /**
+     * RPC线程等待队列空出，超过blockTimeoutMillis后丢弃
+     */
+    BLOCK
+}
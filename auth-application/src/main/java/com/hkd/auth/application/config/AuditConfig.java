@@ -0,0 +1,58 @@
+package com.hkd.auth.application.config;
+
+import com.hkd.auth.application.audit.OverflowPolicy;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 审计流水线配置属性
+ *
+ * @author HKD Team
+ * @since 1.0.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "hkd.audit")
+public class AuditConfig {
+
+    /**
+     * 是否启用审计
+     */
+    private Boolean enabled = true;
+
+    /**
+     * 审计存储：jdbc 或 memory
+     */
+    private String sink = "jdbc";
+
+    /**
+     * 环形队列容量（向上取整为2的幂）
+     */
+    private Integer bufferSize = 65536;
+
+    /**
+     * 单批最大写入条数
+     */
+    private Integer batchSize = 500;
+
+    /**
+     * 未满一批时的最长刷新间隔（毫秒）
+     */
+    private Long flushIntervalMillis = 200L;
+
+    /**
+     * 队列已满时的处理策略
+     */
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP;
+
+    /**
+     * BLOCK策略下RPC线程的最长等待时间（毫秒）
+     */
+    private Long blockTimeoutMillis = 5L;
+
+    /**
+     * 单批写入失败后的最大重试次数，超过后丢弃该批
+     */
+    private Integer maxRetries = 3;
+}
@@ -0,0 +1,50 @@
+package com.hkd.auth.application.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 权限配置属性（RBAC）
+ * 角色 → 授权列表，每条授权包含资源模式和允许的操作
+ *
+ * @author HKD Team
+ * @since 1.0.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "hkd.permission")
+public class PermissionConfig {
+
+    /**
+     * 角色授权表（key为角色名）
+     */
+    private Map<String, List<Grant>> roles = new HashMap<>();
+
+    /**
+     * 单次Authorize请求最多的权限检查项数，超过时以INVALID_ARGUMENT拒绝
+     */
+    private Integer maxChecksPerRequest = 32;
+
+    /**
+     * 单条授权
+     */
+    @Data
+    public static class Grant {
+
+        /**
+         * 资源模式：精确匹配，或以*结尾的前缀匹配（如 order:*），单独的*匹配全部资源
+         */
+        private String resource;
+
+        /**
+         * 允许的操作，*表示全部操作
+         */
+        private List<String> actions = new ArrayList<>();
+    }
+}
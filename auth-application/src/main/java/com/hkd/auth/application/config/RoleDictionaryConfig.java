@@ -0,0 +1,34 @@
+package com.hkd.auth.application.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 角色字典配置属性
+ * Token中的角色以位掩码存储，字典定义角色名与位的对应关系
+ *
+ * @author HKD Team
+ * @since 1.0.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "hkd.role-dictionary")
+public class RoleDictionaryConfig {
+
+    /**
+     * 签发新Token使用的字典版本
+     */
+    private Integer currentVersion = 1;
+
+    /**
+     * 字典版本 → 角色名列表，列表下标即角色的位
+     * 调整角色时新增版本，旧版本保留到其签发的Token全部过期后再移除。
+     * 没有默认版本（配置绑定会合并进默认值，默认版本将无法移除），全部版本在配置文件中声明
+     */
+    private Map<Integer, List<String>> versions = new HashMap<>();
+}
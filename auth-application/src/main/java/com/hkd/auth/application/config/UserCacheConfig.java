@@ -0,0 +1,27 @@
+package com.hkd.auth.application.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 用户角色缓存配置属性
+ *
+ * @author HKD Team
+ * @since 1.0.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "hkd.user-cache")
+public class UserCacheConfig {
+
+    /**
+     * 用户角色缓存时间（秒）
+     */
+    private Long rolesTtlSeconds = 30L;
+
+    /**
+     * 缓存的最大用户数
+     */
+    private Long maximumSize = 100000L;
+}
@@ -1,7 +1,11 @@
 package com.hkd.auth.application.service;
 
 import com.hkd.auth.api.dto.TokenPair;
+import com.hkd.auth.application.audit.AuditPublisher;
 import com.hkd.auth.application.config.JwtConfig;
+import com.hkd.auth.domain.audit.AuditEvent;
+import com.hkd.auth.domain.audit.AuditEventType;
+import com.hkd.auth.domain.user.RoleMask;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import lombok.RequiredArgsConstructor;
@@ -26,7 +30,19 @@ import java.util.List;
 @RequiredArgsConstructor
 public class JwtTokenProvider {
 
+    /**
+     * 角色位掩码声明（按角色字典编码）
+     */
+    public static final String CLAIM_ROLE_MASK = "rm";
+
+    /**
+     * 角色字典版本声明
+     */
+    public static final String CLAIM_ROLE_DICTIONARY_VERSION = "rdv";
+
     private final JwtConfig jwtConfig;
+    private final RoleDictionary roleDictionary;
+    private final AuditPublisher auditPublisher;
 
     /**
      * 生成Token对（Access Token + Refresh Token）
@@ -41,6 +57,13 @@ public class JwtTokenProvider {
         String accessToken = generateAccessToken(userId, username, email, roles);
         String refreshToken = generateRefreshToken(userId);
 
+        auditPublisher.publish(AuditEvent.builder()
+                .type(AuditEventType.TOKEN_ISSUED)
+                .userId(userId)
+                .success(true)
+                .occurredAt(Instant.now())
+                .build());
+
         return TokenPair.builder()
                 .accessToken(accessToken)
                 .refreshToken(refreshToken)
@@ -51,16 +74,19 @@ public class JwtTokenProvider {
 
     /**
      * 生成Access Token
+     * 角色按当前版本的角色字典编码为位掩码
      */
     public String generateAccessToken(String userId, String username, String email, List<String> roles) {
         Instant now = Instant.now();
         Instant expiry = now.plusSeconds(jwtConfig.getAccessTokenExpire());
+        RoleMask roleMask = roleDictionary.encode(roles);
 
         return Jwts.builder()
                 .subject(userId)
                 .claim("username", username)
                 .claim("email", email)
-                .claim("roles", roles)
+                .claim(CLAIM_ROLE_MASK, roleMask.mask())
+                .claim(CLAIM_ROLE_DICTIONARY_VERSION, roleMask.dictionaryVersion())
                 .claim("type", "access")
                 .issuer(jwtConfig.getIssuer())
                 .issuedAt(Date.from(now))
@@ -145,10 +171,37 @@ public class JwtTokenProvider {
     /**
      * 从Token中提取角色列表
      */
-    @SuppressWarnings("unchecked")
     public List<String> getRolesFromToken(String token) {
-        Claims claims = validateAndParseToken(token);
-        return claims.get("roles", List.class);
+        return getRoles(validateAndParseToken(token));
+    }
+
+    /**
+     * 从Claims中提取角色列表
+     *
+     * @return 共享的不可变列表
+     * @throws JwtException 角色声明缺失或与角色字典不匹配
+     */
+    public List<String> getRoles(Claims claims) {
+        return roleDictionary.decode(getRoleMask(claims));
+    }
+
+    /**
+     * 从Claims中提取角色位掩码，并校验角色字典版本
+     *
+     * @throws JwtException 角色声明缺失或与角色字典不匹配
+     */
+    public RoleMask getRoleMask(Claims claims) {
+        Number version = claims.get(CLAIM_ROLE_DICTIONARY_VERSION, Number.class);
+        Number mask = claims.get(CLAIM_ROLE_MASK, Number.class);
+        if (version == null || mask == null) {
+            throw new JwtException("Token缺少角色声明");
+        }
+        RoleMask roleMask = new RoleMask(version.intValue(), mask.longValue());
+        if (!roleDictionary.isValid(roleMask)) {
+            log.warn("Token角色字典不匹配: version={}, mask={}", roleMask.dictionaryVersion(), roleMask.mask());
+            throw new JwtException("Token角色字典版本不受支持");
+        }
+        return roleMask;
     }
 
     /**
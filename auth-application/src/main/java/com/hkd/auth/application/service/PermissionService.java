@@ -0,0 +1,91 @@
+package com.hkd.auth.application.service;
+
+import com.hkd.auth.application.config.PermissionConfig;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 权限检查服务（RBAC）
+ * 根据角色列表判断是否允许对资源执行操作，授权表在启动时预编译
+ *
+ * @author HKD Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+public class PermissionService {
+
+    private static final String WILDCARD = "*";
+
+    private final Map<String, List<CompiledGrant>> grantsByRole = new HashMap<>();
+
+    /**
+     * 单次请求最多的权限检查项数
+     */
+    @Getter
+    private final int maxChecksPerRequest;
+
+    public PermissionService(PermissionConfig permissionConfig) {
+        this.maxChecksPerRequest = permissionConfig.getMaxChecksPerRequest();
+        permissionConfig.getRoles().forEach((role, grants) -> {
+            List<CompiledGrant> compiled = new ArrayList<>(grants.size());
+            for (PermissionConfig.Grant grant : grants) {
+                if (grant.getResource() != null) {
+                    compiled.add(CompiledGrant.of(grant.getResource(), grant.getActions()));
+                }
+            }
+            grantsByRole.put(role, List.copyOf(compiled));
+        });
+        log.info("权限表加载完成: {}个角色", grantsByRole.size());
+    }
+
+    /**
+     * 检查角色列表是否允许对资源执行操作
+     *
+     * @param roles    用户角色列表
+     * @param resource 资源标识（如：order:withdraw）
+     * @param action   操作类型（如：create）
+     * @return 任一角色授权即返回true
+     */
+    public boolean isAllowed(List<String> roles, String resource, String action) {
+        if (roles == null || resource == null || action == null) {
+            return false;
+        }
+        for (String role : roles) {
+            List<CompiledGrant> grants = grantsByRole.get(role);
+            if (grants == null) {
+                continue;
+            }
+            for (CompiledGrant grant : grants) {
+                if (grant.matches(resource, action)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 预编译的授权：前缀匹配时只保存前缀
+     */
+    private record CompiledGrant(String resource, boolean prefix, boolean anyAction, Set<String> actions) {
+
+        static CompiledGrant of(String resourcePattern, List<String> actions) {
+            boolean prefix = resourcePattern.endsWith(WILDCARD);
+            String resource = prefix ? resourcePattern.substring(0, resourcePattern.length() - 1) : resourcePattern;
+            return new CompiledGrant(resource, prefix, actions.contains(WILDCARD), Set.copyOf(actions));
+        }
+
+        boolean matches(String resource, String action) {
+            boolean resourceMatched = prefix ? resource.startsWith(this.resource) : this.resource.equals(resource);
+            return resourceMatched && (anyAction || actions.contains(action));
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.hkd.auth.application.service;
+
+import com.hkd.auth.application.config.RoleDictionaryConfig;
+import com.hkd.auth.domain.user.RoleMask;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 角色字典
+ * 在角色名与位掩码之间转换。解码结果为共享的不可变列表，元素是驻留的角色名，
+ * 同一掩码的多次解码不产生新对象
+ *
+ * @author HKD Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+public class RoleDictionary {
+
+    /**
+     * 单个版本最多的角色数（保留符号位，掩码始终为非负数）
+     */
+    private static final int MAX_ROLES = Long.SIZE - 1;
+
+    /**
+     * 每个版本最多缓存的解码结果数
+     */
+    private static final int MAX_CACHED_MASKS = 4096;
+
+    @Getter
+    private final int currentVersion;
+    private final Map<Integer, Version> versions = new HashMap<>();
+
+    public RoleDictionary(RoleDictionaryConfig roleDictionaryConfig) {
+        roleDictionaryConfig.getVersions().forEach((version, roles) ->
+                versions.put(version, new Version(version, roles)));
+        this.currentVersion = roleDictionaryConfig.getCurrentVersion();
+        if (!versions.containsKey(currentVersion)) {
+            throw new IllegalStateException("角色字典缺少当前版本: " + currentVersion);
+        }
+        log.info("角色字典加载完成: currentVersion={}, versions={}", currentVersion, versions.keySet());
+    }
+
+    /**
+     * 按当前版本编码角色列表
+     *
+     * @throws IllegalArgumentException 角色不在当前版本的字典中
+     */
+    public RoleMask encode(Collection<String> roles) {
+        Version version = versions.get(currentVersion);
+        long mask = 0;
+        if (roles != null) {
+            for (String role : roles) {
+                Integer bit = version.bits.get(role);
+                if (bit == null) {
+                    throw new IllegalArgumentException("角色字典中不存在角色: " + role);
+                }
+                mask |= 1L << bit;
+            }
+        }
+        return new RoleMask(currentVersion, mask);
+    }
+
+    /**
+     * 字典版本是否受支持，且掩码只包含该版本定义的角色位
+     */
+    public boolean isValid(RoleMask roleMask) {
+        Version version = versions.get(roleMask.dictionaryVersion());
+        return version != null && (roleMask.mask() & ~version.definedBits) == 0;
+    }
+
+    /**
+     * 解码为角色列表（按字典顺序）
+     *
+     * @return 共享的不可变列表
+     * @throws IllegalArgumentException 版本不受支持或掩码包含未定义的角色位
+     */
+    public List<String> decode(RoleMask roleMask) {
+        if (!isValid(roleMask)) {
+            throw new IllegalArgumentException("无法按角色字典解码: version=" + roleMask.dictionaryVersion()
+                    + ", mask=" + roleMask.mask());
+        }
+        return versions.get(roleMask.dictionaryVersion()).decode(roleMask.mask());
+    }
+
+    /**
+     * 单个字典版本
+     */
+    private static final class Version {
+
+        private final String[] roles;
+        private final Map<String, Integer> bits = new HashMap<>();
+        private final long definedBits;
+        private final Map<Long, List<String>> decoded = new ConcurrentHashMap<>();
+
+        Version(int version, List<String> roleNames) {
+            if (roleNames.size() > MAX_ROLES) {
+                throw new IllegalStateException("角色字典版本" + version + "超过" + MAX_ROLES + "个角色");
+            }
+            this.roles = new String[roleNames.size()];
+            for (int i = 0; i < roleNames.size(); i++) {
+                String role = roleNames.get(i).intern();
+                if (bits.putIfAbsent(role, i) != null) {
+                    throw new IllegalStateException("角色字典版本" + version + "包含重复角色: " + role);
+                }
+                roles[i] = role;
+            }
+            this.definedBits = roles.length == 0 ? 0 : -1L >>> (Long.SIZE - roles.length);
+        }
+
+        List<String> decode(long mask) {
+            List<String> cached = decoded.get(mask);
+            if (cached != null) {
+                return cached;
+            }
+            List<String> result = expand(mask);
+            if (decoded.size() < MAX_CACHED_MASKS) {
+                decoded.putIfAbsent(mask, result);
+            }
+            return result;
+        }
+
+        private List<String> expand(long mask) {
+            List<String> result = new ArrayList<>(Long.bitCount(mask));
+            for (long remaining = mask; remaining != 0; remaining &= remaining - 1) {
+                result.add(roles[Long.numberOfTrailingZeros(remaining)]);
+            }
+            return List.copyOf(result);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.hkd.auth.application.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.hkd.auth.application.config.UserCacheConfig;
+import com.hkd.auth.domain.user.UserSecurityLoader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 用户安全数据服务
+ * 用户角色带短期缓存，缓存未命中时通过合并加载器查询；
+ * TOTP密钥不缓存（轮换、停用或新启用必须立即生效），只通过合并加载器合并并发查询
+ *
+ * @author HKD Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+public class UserSecurityService {
+
+    /**
+     * 失效代数的分段数。按用户ID哈希分段，不同用户偶尔共用一段只会少缓存一次结果
+     */
+    private static final int GENERATION_STRIPES = 4096;
+
+    private final UserSecurityLoader userSecurityLoader;
+    private final Cache<String, List<String>> roleCache;
+
+    /**
+     * 每次{@link #invalidate}递增对应分段的代数；查询期间代数变化说明结果可能已过时，不写入缓存
+     */
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    /**
+     * 进行中的角色查询。查询开始后到达的请求共享同一结果，并沿用查询开始时的代数，
+     * 避免invalidate之后到达的请求把invalidate之前开始的查询结果写入缓存
+     */
+    private final Map<String, RoleLoad> loadingRoles = new ConcurrentHashMap<>();
+
+    public UserSecurityService(UserSecurityLoader userSecurityLoader, UserCacheConfig userCacheConfig) {
+        this.userSecurityLoader = userSecurityLoader;
+        this.roleCache = CacheBuilder.newBuilder()
+                .maximumSize(userCacheConfig.getMaximumSize())
+                .expireAfterWrite(userCacheConfig.getRolesTtlSeconds(), TimeUnit.SECONDS)
+                .build();
+    }
+
+    /**
+     * 获取用户角色
+     * 角色变更最多在 hkd.user-cache.roles-ttl-seconds 后生效，需要立即生效时调用{@link #invalidate}
+     *
+     * @return 角色列表，用户没有角色时为空列表
+     */
+    public CompletableFuture<List<String>> getRoles(String userId) {
+        List<String> cached = roleCache.getIfPresent(userId);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        RoleLoad existing = loadingRoles.get(userId);
+        if (existing != null) {
+            return existing.result().copy();
+        }
+        int stripe = stripe(userId);
+        RoleLoad load = new RoleLoad(generations.get(stripe), new CompletableFuture<>());
+        existing = loadingRoles.putIfAbsent(userId, load);
+        if (existing != null) {
+            return existing.result().copy();
+        }
+
+        CompletableFuture<List<String>> loaded;
+        try {
+            loaded = userSecurityLoader.loadRoles(userId);
+        } catch (RuntimeException e) {
+            loaded = CompletableFuture.failedFuture(e);
+        }
+        loaded.whenComplete((roles, error) -> {
+            loadingRoles.remove(userId, load);
+            if (error != null) {
+                load.result().completeExceptionally(error);
+                return;
+            }
+            try {
+                List<String> immutableRoles = List.copyOf(roles);
+                if (generations.get(stripe) == load.generation()) {
+                    roleCache.put(userId, immutableRoles);
+                    // invalidate可能发生在检查之后、写入之前，写入后再确认一次
+                    if (generations.get(stripe) != load.generation()) {
+                        roleCache.asMap().remove(userId, immutableRoles);
+                    }
+                }
+                load.result().complete(immutableRoles);
+            } catch (RuntimeException e) {
+                load.result().completeExceptionally(e);
+            }
+        });
+        return load.result().copy();
+    }
+
+    /**
+     * 获取用户TOTP密钥（不缓存，每次读取最新状态）
+     *
+     * @return TOTP密钥，用户未启用双因素认证时为空
+     */
+    public CompletableFuture<Optional<String>> getTotpSecret(String userId) {
+        return userSecurityLoader.loadTotpSecret(userId).thenApply(Optional::ofNullable);
+    }
+
+    /**
+     * 使用户角色缓存失效（角色变更时调用），调用前已开始、调用后才完成的查询结果也不会被缓存
+     */
+    public void invalidate(String userId) {
+        // 先递增代数再清除缓存，调用前已开始的查询结果不会被写回
+        generations.incrementAndGet(stripe(userId));
+        roleCache.invalidate(userId);
+        log.debug("用户角色缓存已失效: userId={}", userId);
+    }
+
+    private static int stripe(String userId) {
+        return userId.hashCode() & (GENERATION_STRIPES - 1);
+    }
+
+    /**
+     * 进行中的角色查询及其开始时的失效代数
+     */
+    private record RoleLoad(long generation, CompletableFuture<List<String>> result) {
+    }
+}
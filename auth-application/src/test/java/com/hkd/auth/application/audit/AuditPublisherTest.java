@@ -0,0 +1,262 @@
+package com.hkd.auth.application.audit;
+
+import com.hkd.auth.application.config.AuditConfig;
+import com.hkd.auth.domain.audit.AuditEvent;
+import com.hkd.auth.domain.audit.AuditEventType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuditPublisherTest {
+
+    private AuditConfig config;
+    private SimpleMeterRegistry meterRegistry;
+    private InMemoryAuditSink sink;
+    private AuditPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        config = new AuditConfig();
+        config.setBufferSize(1024);
+        config.setBatchSize(10);
+        config.setFlushIntervalMillis(50L);
+        meterRegistry = new SimpleMeterRegistry();
+        sink = new InMemoryAuditSink();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (publisher != null) {
+            publisher.stop();
+        }
+    }
+
+    @Test
+    void writesEventsInBatchesOfAtMostBatchSize() {
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        publisher = new AuditPublisher(config, events -> {
+            batchSizes.add(events.size());
+            return sink.write(events);
+        }, meterRegistry);
+
+        for (int i = 0; i < 25; i++) {
+            assertTrue(publisher.publish(event(i)));
+        }
+        publisher.start();
+
+        awaitTrue(() -> sink.getEvents().size() == 25);
+        assertEquals(List.of(10, 10, 5), batchSizes);
+        assertEquals(25.0, counter("hkd.audit.events.written"));
+        for (int i = 0; i < 25; i++) {
+            assertEquals("user_" + i, sink.getEvents().get(i).getUserId());
+        }
+    }
+
+    @Test
+    void dropPolicyRejectsEventsWhenBufferIsFull() {
+        config.setBufferSize(4);
+        config.setOverflowPolicy(OverflowPolicy.DROP);
+        publisher = new AuditPublisher(config, sink, meterRegistry);
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(publisher.publish(event(i)));
+        }
+        assertFalse(publisher.publish(event(4)));
+        assertFalse(publisher.publish(event(5)));
+
+        assertEquals(4.0, counter("hkd.audit.events.published"));
+        assertEquals(2.0, counter("hkd.audit.events.dropped"));
+    }
+
+    @Test
+    void blockPolicyDropsAfterTimeoutWhenNothingDrains() {
+        config.setBufferSize(4);
+        config.setOverflowPolicy(OverflowPolicy.BLOCK);
+        config.setBlockTimeoutMillis(20L);
+        publisher = new AuditPublisher(config, sink, meterRegistry);
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(publisher.publish(event(i)));
+        }
+        long start = System.nanoTime();
+        assertFalse(publisher.publish(event(4)));
+
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(20));
+        assertEquals(1.0, counter("hkd.audit.events.dropped"));
+    }
+
+    @Test
+    void blockPolicyWaitsForWriterToFreeSpace() {
+        config.setBufferSize(4);
+        config.setOverflowPolicy(OverflowPolicy.BLOCK);
+        config.setBlockTimeoutMillis(5000L);
+        publisher = new AuditPublisher(config, sink, meterRegistry);
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(publisher.publish(event(i)));
+        }
+        publisher.start();
+        for (int i = 4; i < 20; i++) {
+            assertTrue(publisher.publish(event(i)));
+        }
+
+        awaitTrue(() -> sink.getEvents().size() == 20);
+        assertEquals(0.0, counter("hkd.audit.events.dropped"));
+    }
+
+    @Test
+    void retriesFailedBatchThenCountsItAsFailed() {
+        config.setMaxRetries(2);
+        AtomicInteger attempts = new AtomicInteger();
+        publisher = new AuditPublisher(config, events -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("存储不可用");
+        }, meterRegistry);
+
+        for (int i = 0; i < 3; i++) {
+            publisher.publish(event(i));
+        }
+        publisher.start();
+        publisher.stop();
+
+        assertEquals(3, attempts.get());
+        assertEquals(3.0, counter("hkd.audit.events.failed"));
+        assertEquals(0.0, counter("hkd.audit.events.written"));
+    }
+
+    @Test
+    void retrySucceedsAfterTransientFailure() {
+        AtomicInteger attempts = new AtomicInteger();
+        publisher = new AuditPublisher(config, events -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("连接中断");
+            }
+            return sink.write(events);
+        }, meterRegistry);
+
+        for (int i = 0; i < 3; i++) {
+            publisher.publish(event(i));
+        }
+        publisher.start();
+        publisher.stop();
+
+        assertEquals(2, attempts.get());
+        assertEquals(3, sink.getEvents().size());
+        assertEquals(0.0, counter("hkd.audit.events.failed"));
+    }
+
+    @Test
+    void rowsRejectedBySinkAreCountedAsFailedWithoutRetry() {
+        AtomicInteger attempts = new AtomicInteger();
+        publisher = new AuditPublisher(config, events -> {
+            attempts.incrementAndGet();
+            return events.size() - 1;
+        }, meterRegistry);
+
+        for (int i = 0; i < 5; i++) {
+            publisher.publish(event(i));
+        }
+        publisher.start();
+        publisher.stop();
+
+        assertEquals(1, attempts.get());
+        assertEquals(4.0, counter("hkd.audit.events.written"));
+        assertEquals(1.0, counter("hkd.audit.events.failed"));
+    }
+
+    @Test
+    void stopDrainsEveryQueuedEvent() {
+        config.setBatchSize(1000);
+        config.setFlushIntervalMillis(TimeUnit.MINUTES.toMillis(1));
+        publisher = new AuditPublisher(config, sink, meterRegistry);
+        publisher.start();
+
+        for (int i = 0; i < 500; i++) {
+            assertTrue(publisher.publish(event(i)));
+        }
+        publisher.stop();
+
+        assertFalse(publisher.isRunning());
+        assertEquals(500, sink.getEvents().size());
+        assertEquals(500.0, counter("hkd.audit.events.written"));
+    }
+
+    @Test
+    void fullBatchIsWrittenWithoutWaitingForFlushInterval() {
+        config.setFlushIntervalMillis(TimeUnit.MINUTES.toMillis(1));
+        publisher = new AuditPublisher(config, sink, meterRegistry);
+        publisher.start();
+
+        for (int i = 0; i < 13; i++) {
+            assertTrue(publisher.publish(event(i)));
+        }
+
+        // 攒满一批时唤醒写入线程，不足一批的事件等到写入时间点或停止时写入
+        awaitTrue(() -> sink.getEvents().size() == 10);
+        assertEquals(10, sink.getEvents().size());
+        publisher.stop();
+        assertEquals(13, sink.getEvents().size());
+    }
+
+    @Test
+    void disabledPublisherIgnoresEvents() {
+        config.setEnabled(false);
+        publisher = new AuditPublisher(config, sink, meterRegistry);
+
+        assertFalse(publisher.publish(event(0)));
+        assertEquals(0.0, counter("hkd.audit.events.published"));
+        assertEquals(0.0, counter("hkd.audit.events.dropped"));
+    }
+
+    @Test
+    void disabledPublisherDoesNotStartWriterThread() {
+        config.setEnabled(false);
+        publisher = new AuditPublisher(config, sink, meterRegistry);
+
+        publisher.start();
+
+        assertFalse(publisher.isRunning());
+        assertTrue(Thread.getAllStackTraces().keySet().stream()
+                .noneMatch(thread -> "audit-writer".equals(thread.getName())), "审计关闭时不应启动写入线程");
+    }
+
+    private double counter(String name) {
+        return meterRegistry.get(name).counter().count();
+    }
+
+    private static AuditEvent event(int i) {
+        return AuditEvent.builder()
+                .type(AuditEventType.TOTP_CHECK)
+                .userId("user_" + i)
+                .success(true)
+                .occurredAt(Instant.now())
+                .build();
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("等待条件超时");
+            }
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError("等待被中断", e);
+            }
+        }
+    }
+}
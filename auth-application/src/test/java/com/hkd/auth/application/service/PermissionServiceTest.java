@@ -0,0 +1,107 @@
+package com.hkd.auth.application.service;
+
+import com.hkd.auth.application.config.PermissionConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PermissionServiceTest {
+
+    private final PermissionService permissionService = new PermissionService(config(Map.of(
+            "ADMIN", List.of(grant("*", "*")),
+            "TRADER", List.of(
+                    grant("order:*", "create", "read"),
+                    grant("asset:balance", "read")),
+            "AUDITOR", List.of(grant("report:daily", "*")))));
+
+    @Test
+    void exactResourceMatchesOnlyItself() {
+        List<String> trader = List.of("TRADER");
+
+        assertTrue(permissionService.isAllowed(trader, "asset:balance", "read"));
+        assertFalse(permissionService.isAllowed(trader, "asset:balance:history", "read"));
+        assertFalse(permissionService.isAllowed(trader, "asset:bal", "read"));
+        assertFalse(permissionService.isAllowed(trader, "asset:balance", "update"));
+    }
+
+    @Test
+    void trailingWildcardMatchesByPrefix() {
+        List<String> trader = List.of("TRADER");
+
+        assertTrue(permissionService.isAllowed(trader, "order:spot", "create"));
+        assertTrue(permissionService.isAllowed(trader, "order:", "read"));
+        assertFalse(permissionService.isAllowed(trader, "order", "read"));
+        assertFalse(permissionService.isAllowed(trader, "orders:spot", "read"));
+        assertFalse(permissionService.isAllowed(trader, "order:spot", "delete"));
+    }
+
+    @Test
+    void bareWildcardResourceMatchesEverything() {
+        List<String> admin = List.of("ADMIN");
+
+        assertTrue(permissionService.isAllowed(admin, "order:spot", "delete"));
+        assertTrue(permissionService.isAllowed(admin, "anything", "whatever"));
+        assertTrue(permissionService.isAllowed(admin, "", "read"));
+    }
+
+    @Test
+    void wildcardActionAllowsAnyActionOnMatchedResource() {
+        List<String> auditor = List.of("AUDITOR");
+
+        assertTrue(permissionService.isAllowed(auditor, "report:daily", "export"));
+        assertFalse(permissionService.isAllowed(auditor, "report:monthly", "read"));
+    }
+
+    @Test
+    void anyRoleGrantingIsEnough() {
+        assertTrue(permissionService.isAllowed(List.of("AUDITOR", "TRADER"), "order:spot", "read"));
+        assertFalse(permissionService.isAllowed(List.of("AUDITOR", "TRADER"), "order:spot", "delete"));
+    }
+
+    @Test
+    void unknownRolesAreDenied() {
+        assertFalse(permissionService.isAllowed(List.of("GUEST"), "order:spot", "read"));
+        assertFalse(permissionService.isAllowed(List.of(), "order:spot", "read"));
+    }
+
+    @Test
+    void nullArgumentsAreDenied() {
+        assertFalse(permissionService.isAllowed(null, "order:spot", "read"));
+        assertFalse(permissionService.isAllowed(List.of("ADMIN"), null, "read"));
+        assertFalse(permissionService.isAllowed(List.of("ADMIN"), "order:spot", null));
+    }
+
+    @Test
+    void grantsWithoutResourceAreIgnored() {
+        PermissionService service = new PermissionService(config(Map.of(
+                "BROKEN", List.of(grant(null, "*")))));
+
+        assertFalse(service.isAllowed(List.of("BROKEN"), "order:spot", "read"));
+    }
+
+    @Test
+    void exposesMaxChecksPerRequest() {
+        PermissionConfig config = config(Map.of());
+        config.setMaxChecksPerRequest(8);
+
+        assertEquals(8, new PermissionService(config).getMaxChecksPerRequest());
+    }
+
+    private static PermissionConfig config(Map<String, List<PermissionConfig.Grant>> roles) {
+        PermissionConfig config = new PermissionConfig();
+        config.setRoles(roles);
+        return config;
+    }
+
+    private static PermissionConfig.Grant grant(String resource, String... actions) {
+        PermissionConfig.Grant grant = new PermissionConfig.Grant();
+        grant.setResource(resource);
+        grant.setActions(List.of(actions));
+        return grant;
+    }
+}
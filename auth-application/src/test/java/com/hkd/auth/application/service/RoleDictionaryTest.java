@@ -0,0 +1,123 @@
+package com.hkd.auth.application.service;
+
+import com.hkd.auth.application.config.RoleDictionaryConfig;
+import com.hkd.auth.domain.user.RoleMask;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RoleDictionaryTest {
+
+    private final RoleDictionary dictionary = new RoleDictionary(config(1, Map.of(
+            1, List.of("USER", "TRADER", "ADMIN"))));
+
+    @Test
+    void encodesRolesAsBitsOfCurrentVersion() {
+        // 字典: USER=0, TRADER=1, ADMIN=2
+        assertEquals(new RoleMask(1, 0b011), dictionary.encode(List.of("TRADER", "USER")));
+        assertEquals(new RoleMask(1, 0b100), dictionary.encode(List.of("ADMIN")));
+        assertEquals(new RoleMask(1, 0), dictionary.encode(List.of()));
+        assertEquals(new RoleMask(1, 0), dictionary.encode(null));
+    }
+
+    @Test
+    void encodeRejectsUnknownRole() {
+        assertThrows(IllegalArgumentException.class, () -> dictionary.encode(List.of("USER", "ROOT")));
+    }
+
+    @Test
+    void decodeReturnsRolesInDictionaryOrder() {
+        assertEquals(List.of("USER", "TRADER"), dictionary.decode(new RoleMask(1, 0b011)));
+        assertEquals(List.of("USER", "TRADER", "ADMIN"), dictionary.decode(new RoleMask(1, 0b111)));
+        assertEquals(List.of(), dictionary.decode(new RoleMask(1, 0)));
+    }
+
+    @Test
+    void decodeReturnsSharedImmutableListOfInternedRoles() {
+        // 配置中的角色名不是字面量，解码结果仍应是驻留的字符串
+        RoleDictionary fromConfig = new RoleDictionary(config(1, Map.of(
+                1, List.of(new String("USER"), new String("TRADER")))));
+
+        List<String> first = fromConfig.decode(new RoleMask(1, 0b11));
+        List<String> second = fromConfig.decode(new RoleMask(1, 0b11));
+
+        assertSame(first, second);
+        assertSame("USER", first.get(0));
+        assertSame("TRADER", first.get(1));
+        assertThrows(UnsupportedOperationException.class, () -> first.add("ADMIN"));
+    }
+
+    @Test
+    void rejectsUnknownVersionAndUndefinedBits() {
+        assertTrue(dictionary.isValid(new RoleMask(1, 0b111)));
+        assertFalse(dictionary.isValid(new RoleMask(2, 0b001)));
+        assertFalse(dictionary.isValid(new RoleMask(1, 0b1000)));
+        assertFalse(dictionary.isValid(new RoleMask(1, -1L)));
+
+        assertThrows(IllegalArgumentException.class, () -> dictionary.decode(new RoleMask(2, 0b001)));
+        assertThrows(IllegalArgumentException.class, () -> dictionary.decode(new RoleMask(1, 0b1000)));
+    }
+
+    @Test
+    void previousVersionStillDecodesAfterRotation() {
+        RoleDictionary rotated = new RoleDictionary(config(2, Map.of(
+                1, List.of("USER", "TRADER"),
+                2, List.of("USER", "ADMIN", "TRADER"))));
+
+        assertEquals(new RoleMask(2, 0b100), rotated.encode(List.of("TRADER")));
+        assertEquals(List.of("TRADER"), rotated.decode(new RoleMask(1, 0b10)));
+        assertEquals(List.of("ADMIN"), rotated.decode(new RoleMask(2, 0b10)));
+    }
+
+    @Test
+    void rejectsInvalidConfiguration() {
+        RoleDictionaryConfig missingCurrent = config(3, Map.of(1, List.of("USER")));
+        assertThrows(IllegalStateException.class, () -> new RoleDictionary(missingCurrent));
+
+        RoleDictionaryConfig duplicate = config(1, Map.of(1, List.of("USER", "USER")));
+        assertThrows(IllegalStateException.class, () -> new RoleDictionary(duplicate));
+
+        List<String> tooMany = new ArrayList<>();
+        for (int i = 0; i < Long.SIZE; i++) {
+            tooMany.add("ROLE_" + i);
+        }
+        RoleDictionaryConfig oversized = config(1, Map.of(1, tooMany));
+        assertThrows(IllegalStateException.class, () -> new RoleDictionary(oversized));
+    }
+
+    @Test
+    void sixtyThreeRolesUseEveryNonSignBit() {
+        List<String> roles = new ArrayList<>();
+        for (int i = 0; i < Long.SIZE - 1; i++) {
+            roles.add("ROLE_" + i);
+        }
+        RoleDictionary full = new RoleDictionary(config(1, Map.of(1, roles)));
+
+        RoleMask all = full.encode(roles);
+        assertEquals(Long.MAX_VALUE, all.mask());
+        assertEquals(roles, full.decode(all));
+        assertFalse(full.isValid(new RoleMask(1, Long.MIN_VALUE)));
+    }
+
+    @Test
+    void hasNoBuiltInVersion() {
+        // 版本只来自配置文件，否则配置绑定会合并进默认版本，旧版本无法下线
+        assertTrue(new RoleDictionaryConfig().getVersions().isEmpty());
+        assertThrows(IllegalStateException.class, () -> new RoleDictionary(new RoleDictionaryConfig()));
+    }
+
+    private static RoleDictionaryConfig config(int currentVersion, Map<Integer, List<String>> versions) {
+        RoleDictionaryConfig config = new RoleDictionaryConfig();
+        config.setCurrentVersion(currentVersion);
+        config.setVersions(versions);
+        return config;
+    }
+}
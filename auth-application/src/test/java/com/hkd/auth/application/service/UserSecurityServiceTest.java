@@ -0,0 +1,147 @@
+package com.hkd.auth.application.service;
+
+import com.hkd.auth.application.config.UserCacheConfig;
+import com.hkd.auth.domain.user.UserSecurityLoader;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserSecurityServiceTest {
+
+    private final ManualLoader loader = new ManualLoader();
+    private final UserSecurityService service = new UserSecurityService(loader, new UserCacheConfig());
+
+    @Test
+    void cachesLoadedRoles() {
+        CompletableFuture<List<String>> first = service.getRoles("user_1");
+        loader.complete(0, List.of("TRADER"));
+
+        assertEquals(List.of("TRADER"), first.join());
+        assertEquals(List.of("TRADER"), service.getRoles("user_1").join());
+        assertEquals(1, loader.pending.size());
+    }
+
+    @Test
+    void invalidateForcesReload() {
+        service.getRoles("user_1");
+        loader.complete(0, List.of("TRADER"));
+
+        service.invalidate("user_1");
+        CompletableFuture<List<String>> reloaded = service.getRoles("user_1");
+        loader.complete(1, List.of("USER"));
+
+        assertEquals(List.of("USER"), reloaded.join());
+        assertEquals(2, loader.pending.size());
+    }
+
+    @Test
+    void loadStartedBeforeInvalidateIsNotCached() {
+        CompletableFuture<List<String>> stale = service.getRoles("user_1");
+        // 查询进行中角色被修改
+        service.invalidate("user_1");
+        loader.complete(0, List.of("ADMIN"));
+
+        // 调用方仍拿到本次查询的结果，但结果不能留在缓存里
+        assertEquals(List.of("ADMIN"), stale.join());
+        CompletableFuture<List<String>> fresh = service.getRoles("user_1");
+        assertEquals(2, loader.pending.size(), "invalidate之前开始的查询结果不应被缓存");
+        loader.complete(1, List.of("USER"));
+
+        assertEquals(List.of("USER"), fresh.join());
+        assertEquals(List.of("USER"), service.getRoles("user_1").join());
+        assertEquals(2, loader.pending.size());
+    }
+
+    @Test
+    void requestJoiningLoadStartedBeforeInvalidateDoesNotCacheIt() {
+        CompletableFuture<List<String>> stale = service.getRoles("user_1");
+        service.invalidate("user_1");
+        // invalidate之后到达，但与之前开始的查询共享结果
+        CompletableFuture<List<String>> joined = service.getRoles("user_1");
+        assertEquals(1, loader.pending.size());
+
+        loader.complete(0, List.of("ADMIN"));
+        assertEquals(List.of("ADMIN"), stale.join());
+        assertEquals(List.of("ADMIN"), joined.join());
+
+        service.getRoles("user_1");
+        assertEquals(2, loader.pending.size(), "共享的查询开始于invalidate之前，结果不应被缓存");
+    }
+
+    @Test
+    void concurrentRequestsShareOneLoad() {
+        CompletableFuture<List<String>> first = service.getRoles("user_1");
+        CompletableFuture<List<String>> second = service.getRoles("user_1");
+        assertEquals(1, loader.pending.size());
+
+        // 调用方拿到的是副本，互不影响
+        first.cancel(false);
+        loader.complete(0, List.of("TRADER"));
+
+        assertEquals(List.of("TRADER"), second.join());
+        assertEquals(List.of("TRADER"), service.getRoles("user_1").join());
+        assertEquals(1, loader.pending.size());
+    }
+
+    @Test
+    void failedLoadIsNotCachedAndCanBeRetried() {
+        CompletableFuture<List<String>> failed = service.getRoles("user_1");
+        loader.pending.get(0).completeExceptionally(new IllegalStateException("数据库不可用"));
+
+        assertTrue(failed.isCompletedExceptionally());
+        CompletableFuture<List<String>> retried = service.getRoles("user_1");
+        assertEquals(2, loader.pending.size());
+        loader.complete(1, List.of("USER"));
+        assertEquals(List.of("USER"), retried.join());
+    }
+
+    @Test
+    void invalidatingAnotherUserDoesNotAffectCachedRoles() {
+        service.getRoles("user_1");
+        loader.complete(0, List.of("TRADER"));
+
+        service.invalidate("user_2");
+
+        assertEquals(List.of("TRADER"), service.getRoles("user_1").join());
+        assertEquals(1, loader.pending.size());
+    }
+
+    @Test
+    void totpSecretIsNeverCached() {
+        assertTrue(service.getTotpSecret("user_1").join().isPresent());
+        assertTrue(service.getTotpSecret("user_1").join().isPresent());
+
+        assertEquals(2, loader.totpLoads);
+    }
+
+    /**
+     * 角色查询由测试手动完成
+     */
+    private static final class ManualLoader implements UserSecurityLoader {
+
+        private final List<CompletableFuture<List<String>>> pending = new ArrayList<>();
+        private int totpLoads;
+
+        @Override
+        public CompletableFuture<List<String>> loadRoles(String userId) {
+            CompletableFuture<List<String>> future = new CompletableFuture<>();
+            pending.add(future);
+            return future;
+        }
+
+        @Override
+        public CompletableFuture<String> loadTotpSecret(String userId) {
+            totpLoads++;
+            return CompletableFuture.completedFuture("SECRET");
+        }
+
+        void complete(int index, List<String> roles) {
+            pending.get(index).complete(roles);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.hkd.auth.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * gRPC异步回调线程池配置属性
+ *
+ * @author HKD Team
+ * @since 1.0.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "hkd.grpc.callback-executor")
+public class CallbackExecutorConfig {
+
+    /**
+     * 处理异步查询结果（TOTP校验、权限判断、审计、写响应）的线程数
+     */
+    private Integer threads = Math.max(4, Runtime.getRuntime().availableProcessors());
+}
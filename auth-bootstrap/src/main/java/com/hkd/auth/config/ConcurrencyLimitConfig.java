@@ -0,0 +1,71 @@
+package com.hkd.auth.config;
+
+import com.hkd.auth.grpc.limit.RpcPriority;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * gRPC自适应并发限制配置属性
+ *
+ * @author HKD Team
+ * @since 1.0.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "hkd.grpc.concurrency-limit")
+public class ConcurrencyLimitConfig {
+
+    /**
+     * 是否启用并发限制
+     */
+    private Boolean enabled = true;
+
+    /**
+     * 每个方法的初始并发限额
+     */
+    private Integer initialLimit = 200;
+
+    /**
+     * 并发限额下限
+     */
+    private Integer minLimit = 20;
+
+    /**
+     * 并发限额上限
+     */
+    private Integer maxLimit = 2000;
+
+    /**
+     * 限额调整的平滑系数（0-1，越大调整越快）
+     */
+    private Double smoothing = 0.2;
+
+    /**
+     * 允许的延迟膨胀倍数，短期延迟超过长期基线的该倍数时开始降低限额
+     */
+    private Double rttTolerance = 1.5;
+
+    /**
+     * 采样窗口长度（毫秒），每个窗口结束时调整一次限额
+     */
+    private Long windowMillis = 100L;
+
+    /**
+     * 窗口内最少样本数，不足时延长窗口
+     */
+    private Integer minWindowSamples = 10;
+
+    /**
+     * 方法优先级（key为完整方法名，如 hkd.auth.v1.AuthService/ValidateToken），未配置的方法为NORMAL
+     */
+    private Map<String, RpcPriority> priorities = new HashMap<>(Map.of(
+            "hkd.auth.v1.AuthService/ValidateToken", RpcPriority.HIGH,
+            "hkd.auth.v1.AuthService/Authorize", RpcPriority.HIGH,
+            "hkd.auth.v1.AuthService/ValidateTOTP", RpcPriority.LOW,
+            "hkd.auth.v1.AuthService/CheckPermission", RpcPriority.LOW
+    ));
+}
@@ -0,0 +1,25 @@
+package com.hkd.auth.config;
+
+import com.hkd.auth.grpc.limit.ArrivalTimeTracerFactory;
+import net.devh.boot.grpc.server.serverfactory.GrpcServerConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * gRPC服务端定制
+ *
+ * @author HKD Team
+ * @since 1.0.0
+ */
+@Configuration
+public class GrpcServerConfig {
+
+    /**
+     * 在传输线程记录请求到达时间，供并发限制计算包含排队时间的延迟
+     */
+    @Bean
+    public GrpcServerConfigurer arrivalTimeConfigurer() {
+        ArrivalTimeTracerFactory tracerFactory = new ArrivalTimeTracerFactory();
+        return serverBuilder -> serverBuilder.addStreamTracerFactory(tracerFactory);
+    }
+}
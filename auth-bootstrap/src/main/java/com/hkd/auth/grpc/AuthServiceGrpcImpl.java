@@ -1,7 +1,15 @@
 package com.hkd.auth.grpc;
 
+import com.hkd.auth.application.audit.AuditPublisher;
 import com.hkd.auth.application.service.JwtTokenProvider;
+import com.hkd.auth.application.service.PermissionService;
+import com.hkd.auth.application.service.RoleDictionary;
 import com.hkd.auth.application.service.TotpService;
+import com.hkd.auth.application.service.UserSecurityService;
+import com.hkd.auth.domain.audit.AuditEvent;
+import com.hkd.auth.domain.audit.AuditEventType;
+import com.hkd.auth.domain.user.RoleMask;
+import io.grpc.Status;
 import io.grpc.stub.StreamObserver;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
@@ -9,6 +17,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.devh.boot.grpc.server.service.GrpcService;
 
+import java.time.Instant;
 import java.util.Date;
 import java.util.List;
 
@@ -25,7 +34,12 @@ import java.util.List;
 public class AuthServiceGrpcImpl extends AuthServiceGrpc.AuthServiceImplBase {
 
     private final JwtTokenProvider jwtTokenProvider;
+    private final RoleDictionary roleDictionary;
     private final TotpService totpService;
+    private final PermissionService permissionService;
+    private final UserSecurityService userSecurityService;
+    private final AuditPublisher auditPublisher;
+    private final RpcCallbackExecutor callbackExecutor;
 
     /**
      * 验证JWT Token
@@ -59,8 +73,7 @@ public class AuthServiceGrpcImpl extends AuthServiceGrpc.AuthServiceImplBase {
                     String userId = claims.getSubject();
                     String username = claims.get("username", String.class);
                     String email = claims.get("email", String.class);
-                    @SuppressWarnings("unchecked")
-                    List<String> roles = claims.get("roles", List.class);
+                    RoleMask roleMask = jwtTokenProvider.getRoleMask(claims);
                     Date expiration = claims.getExpiration();
 
                     responseBuilder
@@ -68,8 +81,12 @@ public class AuthServiceGrpcImpl extends AuthServiceGrpc.AuthServiceImplBase {
                             .setUserId(userId)
                             .setUsername(username != null ? username : "")
                             .setEmail(email != null ? email : "")
-                            .addAllRoles(roles != null ? roles : List.of())
+                            .setRoleMask(roleMask.mask())
+                            .setRoleDictionaryVersion(roleMask.dictionaryVersion())
                             .setExpiresAt(expiration.getTime() / 1000); // 转换为Unix时间戳（秒）
+                    if (!request.getOmitRoleNames()) {
+                        responseBuilder.addAllRoles(roleDictionary.decode(roleMask));
+                    }
 
                     log.debug("Token验证成功: userId={}, username={}", userId, username);
                 }
@@ -93,126 +110,262 @@ public class AuthServiceGrpcImpl extends AuthServiceGrpc.AuthServiceImplBase {
     /**
      * 验证TOTP双因素认证码
      * 用于高风险操作（如提现、修改安全设置）
-     *
-     * TODO: 需要实现数据库访问以获取用户的TOTP密钥
+     * 用户TOTP密钥经合并加载器获取，查询完成后在回调线程池中校验并响应
      */
     @Override
     public void validateTOTP(ValidateTOTPRequest request, StreamObserver<ValidateTOTPResponse> responseObserver) {
         log.debug("收到ValidateTOTP请求: userId={}", request.getUserId());
 
-        ValidateTOTPResponse.Builder responseBuilder = ValidateTOTPResponse.newBuilder();
+        String userId = request.getUserId();
+        String totpCode = request.getTotpCode();
 
-        try {
-            String userId = request.getUserId();
-            String totpCode = request.getTotpCode();
+        if (userId == null || userId.isEmpty()) {
+            respondTotp(request, responseObserver, ValidateTOTPResponse.newBuilder()
+                    .setValid(false)
+                    .setErrorMessage("用户ID不能为空"));
+            return;
+        }
+        if (totpCode == null || totpCode.isEmpty()) {
+            respondTotp(request, responseObserver, ValidateTOTPResponse.newBuilder()
+                    .setValid(false)
+                    .setErrorMessage("TOTP验证码不能为空"));
+            return;
+        }
 
-            if (userId == null || userId.isEmpty()) {
-                responseBuilder
-                        .setValid(false)
-                        .setErrorMessage("用户ID不能为空");
-            } else if (totpCode == null || totpCode.isEmpty()) {
-                responseBuilder
-                        .setValid(false)
-                        .setErrorMessage("TOTP验证码不能为空");
-            } else {
-                // TODO: 从数据库获取用户的TOTP密钥
-                // String totpSecret = userTotpRepository.findSecretByUserId(userId);
-                //
-                // if (totpSecret == null) {
-                //     responseBuilder
-                //             .setValid(false)
-                //             .setErrorMessage("用户未启用双因素认证");
-                // } else {
-                //     boolean isValid = totpService.validateCode(totpSecret, totpCode);
-                //     if (isValid) {
-                //         responseBuilder.setValid(true);
-                //         log.debug("TOTP验证成功: userId={}", userId);
-                //     } else {
-                //         responseBuilder
-                //                 .setValid(false)
-                //                 .setErrorMessage("验证码错误");
-                //     }
-                // }
-
-                // 临时实现：返回未实现错误
-                log.warn("ValidateTOTP尚未完全实现，需要数据库支持");
+        userSecurityService.getTotpSecret(userId).whenCompleteAsync((totpSecret, error) -> {
+            ValidateTOTPResponse.Builder responseBuilder = ValidateTOTPResponse.newBuilder();
+            try {
+                if (error != null) {
+                    log.error("获取TOTP密钥失败: userId={}, error={}", userId, error.getMessage());
+                    responseBuilder
+                            .setValid(false)
+                            .setErrorMessage("TOTP验证失败");
+                } else if (totpSecret.isEmpty()) {
+                    responseBuilder
+                            .setValid(false)
+                            .setErrorMessage("用户未启用双因素认证");
+                } else if (totpService.validateCode(totpSecret.get(), totpCode)) {
+                    responseBuilder.setValid(true);
+                    log.debug("TOTP验证成功: userId={}", userId);
+                } else {
+                    responseBuilder
+                            .setValid(false)
+                            .setErrorMessage("验证码错误");
+                }
+            } catch (Exception e) {
+                log.error("TOTP验证异常: {}", e.getMessage(), e);
                 responseBuilder
                         .setValid(false)
-                        .setErrorMessage("TOTP验证服务尚未完全实现");
+                        .setErrorMessage("TOTP验证失败");
             }
-        } catch (Exception e) {
-            log.error("TOTP验证异常: {}", e.getMessage(), e);
-            responseBuilder
-                    .setValid(false)
-                    .setErrorMessage("TOTP验证失败");
-        }
-
-        responseObserver.onNext(responseBuilder.build());
-        responseObserver.onCompleted();
+            respondTotp(request, responseObserver, responseBuilder);
+        }, callbackExecutor);
     }
 
     /**
      * 检查用户权限
-     * 用于细粒度的权限控制
-     *
-     * TODO: 需要实现权限系统和数据库访问
+     * 用于细粒度的权限控制（RBAC），用户角色经缓存和合并加载器获取，查询完成后在回调线程池中判断并响应
      */
     @Override
     public void checkPermission(CheckPermissionRequest request, StreamObserver<CheckPermissionResponse> responseObserver) {
         log.debug("收到CheckPermission请求: userId={}, resource={}, action={}",
                 request.getUserId(), request.getResource(), request.getAction());
 
-        CheckPermissionResponse.Builder responseBuilder = CheckPermissionResponse.newBuilder();
+        String userId = request.getUserId();
+        String resource = request.getResource();
+        String action = request.getAction();
 
-        try {
-            String userId = request.getUserId();
-            String resource = request.getResource();
-            String action = request.getAction();
+        if (userId == null || userId.isEmpty()) {
+            respondPermission(request, responseObserver, CheckPermissionResponse.newBuilder()
+                    .setAllowed(false)
+                    .setReason("用户ID不能为空"));
+            return;
+        }
+        if (resource == null || resource.isEmpty()) {
+            respondPermission(request, responseObserver, CheckPermissionResponse.newBuilder()
+                    .setAllowed(false)
+                    .setReason("资源标识不能为空"));
+            return;
+        }
+        if (action == null || action.isEmpty()) {
+            respondPermission(request, responseObserver, CheckPermissionResponse.newBuilder()
+                    .setAllowed(false)
+                    .setReason("操作类型不能为空"));
+            return;
+        }
 
-            if (userId == null || userId.isEmpty()) {
-                responseBuilder
-                        .setAllowed(false)
-                        .setReason("用户ID不能为空");
-            } else if (resource == null || resource.isEmpty()) {
+        userSecurityService.getRoles(userId).whenCompleteAsync((roles, error) -> {
+            CheckPermissionResponse.Builder responseBuilder = CheckPermissionResponse.newBuilder();
+            try {
+                if (error != null) {
+                    log.error("获取用户角色失败: userId={}, error={}", userId, error.getMessage());
+                    responseBuilder
+                            .setAllowed(false)
+                            .setReason("权限检查失败");
+                } else if (permissionService.isAllowed(roles, resource, action)) {
+                    responseBuilder.setAllowed(true);
+                } else {
+                    responseBuilder
+                            .setAllowed(false)
+                            .setReason("用户无此操作权限");
+                }
+            } catch (Exception e) {
+                log.error("权限检查异常: {}", e.getMessage(), e);
                 responseBuilder
                         .setAllowed(false)
-                        .setReason("资源标识不能为空");
-            } else if (action == null || action.isEmpty()) {
+                        .setReason("权限检查失败");
+            }
+            respondPermission(request, responseObserver, responseBuilder);
+        }, callbackExecutor);
+    }
+
+    /**
+     * 记录TOTP审计并返回响应（每次TOTP验证都需要审计）
+     */
+    private void respondTotp(ValidateTOTPRequest request, StreamObserver<ValidateTOTPResponse> responseObserver,
+                             ValidateTOTPResponse.Builder responseBuilder) {
+        auditPublisher.publish(AuditEvent.builder()
+                .type(AuditEventType.TOTP_CHECK)
+                .userId(request.getUserId())
+                .success(responseBuilder.getValid())
+                .detail(responseBuilder.getErrorMessage())
+                .occurredAt(Instant.now())
+                .build());
+
+        responseObserver.onNext(responseBuilder.build());
+        responseObserver.onCompleted();
+    }
+
+    /**
+     * 审计权限拒绝并返回响应
+     */
+    private void respondPermission(CheckPermissionRequest request,
+                                   StreamObserver<CheckPermissionResponse> responseObserver,
+                                   CheckPermissionResponse.Builder responseBuilder) {
+        if (!responseBuilder.getAllowed()) {
+            auditPublisher.publish(AuditEvent.builder()
+                    .type(AuditEventType.PERMISSION_DENIED)
+                    .userId(request.getUserId())
+                    .success(false)
+                    .resource(request.getResource())
+                    .action(request.getAction())
+                    .detail(responseBuilder.getReason())
+                    .occurredAt(Instant.now())
+                    .build());
+        }
+
+        responseObserver.onNext(responseBuilder.build());
+        responseObserver.onCompleted();
+    }
+
+    /**
+     * 验证Token并检查权限
+     * 一次往返完成ValidateToken + 多个CheckPermission，直接使用Token中的角色，无需再次查询
+     */
+    @Override
+    public void authorize(AuthorizeRequest request, StreamObserver<AuthorizeResponse> responseObserver) {
+        log.debug("收到Authorize请求: checks={}", request.getChecksCount());
+
+        // 每个被拒绝的检查项都会产生审计事件，限制数量防止单个请求挤占审计队列
+        if (request.getChecksCount() > permissionService.getMaxChecksPerRequest()) {
+            log.warn("Authorize检查项过多: checks={}, max={}",
+                    request.getChecksCount(), permissionService.getMaxChecksPerRequest());
+            responseObserver.onError(Status.INVALID_ARGUMENT
+                    .withDescription("权限检查项不能超过" + permissionService.getMaxChecksPerRequest() + "个")
+                    .asRuntimeException());
+            return;
+        }
+
+        AuthorizeResponse.Builder responseBuilder = AuthorizeResponse.newBuilder();
+
+        try {
+            String token = request.getAccessToken();
+
+            if (token == null || token.isEmpty()) {
                 responseBuilder
-                        .setAllowed(false)
-                        .setReason("操作类型不能为空");
+                        .setValid(false)
+                        .setErrorMessage("Token不能为空");
             } else {
-                // TODO: 实现权限检查逻辑
-                // 1. 从数据库获取用户角色
-                // 2. 根据角色和资源/操作判断是否有权限
-                // 3. 支持RBAC（基于角色的访问控制）
-                //
-                // Example:
-                // List<String> userRoles = userRoleRepository.findRolesByUserId(userId);
-                // boolean hasPermission = permissionChecker.check(userRoles, resource, action);
-                //
-                // if (hasPermission) {
-                //     responseBuilder.setAllowed(true);
-                // } else {
-                //     responseBuilder
-                //             .setAllowed(false)
-                //             .setReason("用户无此操作权限");
-                // }
-
-                // 临时实现：返回未实现错误
-                log.warn("CheckPermission尚未完全实现，需要权限系统支持");
-                responseBuilder
-                        .setAllowed(false)
-                        .setReason("权限检查服务尚未完全实现");
+                // 验证并解析Token（仅一次）
+                Claims claims = jwtTokenProvider.validateAndParseToken(token);
+
+                String tokenType = claims.get("type", String.class);
+                if (!"access".equals(tokenType)) {
+                    responseBuilder
+                            .setValid(false)
+                            .setErrorMessage("Token类型错误，需要Access Token");
+                } else {
+                    String userId = claims.getSubject();
+                    String username = claims.get("username", String.class);
+                    String email = claims.get("email", String.class);
+                    List<String> roles = jwtTokenProvider.getRoles(claims);
+                    Date expiration = claims.getExpiration();
+
+                    responseBuilder
+                            .setValid(true)
+                            .setUserId(userId)
+                            .setUsername(username != null ? username : "")
+                            .setEmail(email != null ? email : "")
+                            .addAllRoles(roles)
+                            .setExpiresAt(expiration.getTime() / 1000); // 转换为Unix时间戳（秒）
+
+                    // 使用Token中的角色逐项检查权限
+                    for (PermissionCheck check : request.getChecksList()) {
+                        responseBuilder.addDecisions(decide(userId, roles, check));
+                    }
+
+                    log.debug("Authorize完成: userId={}, checks={}", userId, request.getChecksCount());
+                }
             }
+        } catch (JwtException e) {
+            log.warn("Token验证失败: {}", e.getMessage());
+            responseBuilder
+                    .setValid(false)
+                    .setErrorMessage(e.getMessage());
         } catch (Exception e) {
-            log.error("权限检查异常: {}", e.getMessage(), e);
+            log.error("Authorize异常: {}", e.getMessage(), e);
+            // 丢弃已填入的身份和部分检查结果，失败的响应不携带任何用户信息
             responseBuilder
-                    .setAllowed(false)
-                    .setReason("权限检查失败");
+                    .clear()
+                    .setValid(false)
+                    .setErrorMessage("授权检查失败");
         }
 
         responseObserver.onNext(responseBuilder.build());
         responseObserver.onCompleted();
     }
+
+    /**
+     * 检查单个权限，拒绝时记录审计
+     */
+    private PermissionDecision decide(String userId, List<String> roles, PermissionCheck check) {
+        String resource = check.getResource();
+        String action = check.getAction();
+        PermissionDecision.Builder decision = PermissionDecision.newBuilder()
+                .setResource(resource)
+                .setAction(action);
+
+        if (resource.isEmpty()) {
+            decision.setAllowed(false).setReason("资源标识不能为空");
+        } else if (action.isEmpty()) {
+            decision.setAllowed(false).setReason("操作类型不能为空");
+        } else if (permissionService.isAllowed(roles, resource, action)) {
+            decision.setAllowed(true);
+        } else {
+            decision.setAllowed(false).setReason("用户无此操作权限");
+        }
+
+        if (!decision.getAllowed()) {
+            auditPublisher.publish(AuditEvent.builder()
+                    .type(AuditEventType.PERMISSION_DENIED)
+                    .userId(userId)
+                    .success(false)
+                    .resource(resource)
+                    .action(action)
+                    .detail(decision.getReason())
+                    .occurredAt(Instant.now())
+                    .build());
+        }
+        return decision.build();
+    }
 }
@@ -0,0 +1,50 @@
+package com.hkd.auth.grpc;
+
+import com.hkd.auth.config.CallbackExecutorConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * gRPC异步回调线程池
+ * 用户数据查询完成后的处理切换到这里执行，不占用数据库查询线程和超时调度线程；
+ * 同一批查询的多个调用方可以并行处理。
+ * 队列不设上限：在途请求数已由并发限制拦截器约束，拒绝任务会导致RPC永远不响应
+ *
+ * @author HKD Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class RpcCallbackExecutor implements Executor, AutoCloseable {
+
+    private final ExecutorService executor;
+
+    public RpcCallbackExecutor(CallbackExecutorConfig callbackExecutorConfig) {
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(callbackExecutorConfig.getThreads(), r -> {
+            Thread t = new Thread(r, "grpc-callback-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        log.info("gRPC回调线程池已创建: threads={}", callbackExecutorConfig.getThreads());
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        executor.execute(command);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+            log.warn("gRPC回调线程未能在5秒内结束");
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.hkd.auth.grpc.limit;
+
+import io.grpc.Context;
+import io.grpc.Metadata;
+import io.grpc.ServerStreamTracer;
+
+/**
+ * 记录请求到达时间
+ * <p>
+ * 传输线程创建服务端流时取时间戳并写入Context。拦截器在调用执行器上运行，
+ * 以到达时间作为延迟样本的起点，执行器排队时间也计入延迟，排队变长时限额随之收缩。
+ *
+ * @author HKD Team
+ * @since 1.0.0
+ */
+public class ArrivalTimeTracerFactory extends ServerStreamTracer.Factory {
+
+    private static final Context.Key<Long> ARRIVAL_NANOS = Context.key("hkd-arrival-nanos");
+
+    @Override
+    public ServerStreamTracer newServerStreamTracer(String fullMethodName, Metadata headers) {
+        long arrivalNanos = System.nanoTime();
+        return new ServerStreamTracer() {
+            @Override
+            public Context filterContext(Context context) {
+                return context.withValue(ARRIVAL_NANOS, arrivalNanos);
+            }
+        };
+    }
+
+    /**
+     * 当前调用的到达时间（{@link System#nanoTime()}）
+     *
+     * @return 未注册本Factory时（如进程内测试）返回当前时间
+     */
+    public static long arrivalNanos() {
+        Long arrivalNanos = ARRIVAL_NANOS.get();
+        return arrivalNanos != null ? arrivalNanos : System.nanoTime();
+    }
+}
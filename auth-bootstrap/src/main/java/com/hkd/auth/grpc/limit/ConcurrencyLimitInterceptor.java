@@ -0,0 +1,145 @@
+package com.hkd.auth.grpc.limit;
+
+import com.hkd.auth.config.ConcurrencyLimitConfig;
+import com.hkd.auth.grpc.AuthServiceGrpc;
+import io.grpc.ForwardingServerCall;
+import io.grpc.ForwardingServerCallListener;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import net.devh.boot.grpc.server.interceptor.GrpcGlobalServerInterceptor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * gRPC自适应并发限制拦截器
+ * <p>
+ * 每个方法维护独立的自适应并发限额（{@link GradientLimiter}）。超过限额的请求以
+ * RESOURCE_EXHAUSTED拒绝，不进入业务处理；低优先级方法在高优先级方法饱和时也会被拒绝，
+ * 保证ValidateToken不被依赖数据库的慢调用拖垮。
+ * <p>
+ * 拦截器运行在调用执行器上，被拒绝的请求已经在执行器中排过队。延迟样本从传输线程收到请求时开始计时
+ * （{@link ArrivalTimeTracerFactory}），包含执行器排队时间，排队变长时限额收缩，从而限制排队长度。
+ * <p>
+ * 只限制AuthService的方法；健康检查、反射等框架内置服务不受限，避免过载时探针失败导致实例被重启或摘除。
+ *
+ * @author HKD Team
+ * @since 1.0.0
+ */
+@Slf4j
+@GrpcGlobalServerInterceptor
+public class ConcurrencyLimitInterceptor implements ServerInterceptor {
+
+    private final ConcurrencyLimitConfig config;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, GradientLimiter> limiters = new ConcurrentHashMap<>();
+    private final Map<String, Counter> rejectedCounters = new ConcurrentHashMap<>();
+
+    public ConcurrencyLimitInterceptor(ConcurrencyLimitConfig config, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call, Metadata headers,
+                                                                 ServerCallHandler<ReqT, RespT> next) {
+        if (!config.getEnabled()
+                || !AuthServiceGrpc.SERVICE_NAME.equals(call.getMethodDescriptor().getServiceName())) {
+            return next.startCall(call, headers);
+        }
+
+        GradientLimiter limiter = limiters.computeIfAbsent(
+                call.getMethodDescriptor().getFullMethodName(), this::createLimiter);
+
+        if (higherPrioritySaturated(limiter.getPriority()) || !limiter.tryAcquire()) {
+            rejectedCounters.get(limiter.getMethod()).increment();
+            log.debug("请求被限流: method={}, inflight={}, limit={}",
+                    limiter.getMethod(), limiter.getInflight(), limiter.getLimit());
+            call.close(Status.RESOURCE_EXHAUSTED.withDescription("服务繁忙，请稍后重试"), new Metadata());
+            return new ServerCall.Listener<>() {
+            };
+        }
+
+        long startNanos = ArrivalTimeTracerFactory.arrivalNanos();
+        AtomicBoolean released = new AtomicBoolean();
+
+        ServerCall<ReqT, RespT> limitedCall = new ForwardingServerCall.SimpleForwardingServerCall<>(call) {
+            @Override
+            public void close(Status status, Metadata trailers) {
+                if (released.compareAndSet(false, true)) {
+                    limiter.release(System.nanoTime() - startNanos);
+                }
+                super.close(status, trailers);
+            }
+        };
+
+        ServerCall.Listener<ReqT> listener;
+        try {
+            listener = next.startCall(limitedCall, headers);
+        } catch (RuntimeException e) {
+            if (released.compareAndSet(false, true)) {
+                limiter.release(-1);
+            }
+            throw e;
+        }
+
+        return new ForwardingServerCallListener.SimpleForwardingServerCallListener<>(listener) {
+            @Override
+            public void onCancel() {
+                // 客户端取消的请求不计入延迟样本
+                if (released.compareAndSet(false, true)) {
+                    limiter.release(-1);
+                }
+                super.onCancel();
+            }
+        };
+    }
+
+    /**
+     * 是否存在比给定优先级更高、且已用满限额的方法
+     */
+    private boolean higherPrioritySaturated(RpcPriority priority) {
+        if (priority == RpcPriority.HIGH) {
+            return false;
+        }
+        for (GradientLimiter other : limiters.values()) {
+            if (other.getPriority().ordinal() < priority.ordinal() && other.isSaturated()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private GradientLimiter createLimiter(String method) {
+        RpcPriority priority = config.getPriorities().getOrDefault(method, RpcPriority.NORMAL);
+        GradientLimiter limiter = new GradientLimiter(method, priority, config);
+
+        Gauge.builder("hkd.grpc.concurrency.limit", limiter, GradientLimiter::getLimit)
+                .description("当前自适应并发限额")
+                .tag("method", method)
+                .tag("priority", priority.name())
+                .register(meterRegistry);
+        Gauge.builder("hkd.grpc.concurrency.inflight", limiter, GradientLimiter::getInflight)
+                .description("当前处理中的请求数")
+                .tag("method", method)
+                .tag("priority", priority.name())
+                .register(meterRegistry);
+        rejectedCounters.put(method, Counter.builder("hkd.grpc.concurrency.rejected")
+                .description("因超过并发限额被拒绝的请求数")
+                .tag("method", method)
+                .tag("priority", priority.name())
+                .register(meterRegistry));
+
+        log.info("创建并发限制器: method={}, priority={}, initialLimit={}",
+                method, priority, config.getInitialLimit());
+        return limiter;
+    }
+}
@@ -0,0 +1,153 @@
+package com.hkd.auth.grpc.limit;
+
+import com.hkd.auth.config.ConcurrencyLimitConfig;
+import lombok.Getter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 基于延迟梯度的自适应并发限额（单个方法）
+ * <p>
+ * 每个采样窗口比较短期平均延迟与长期基线延迟：
+ * gradient = clamp(rttTolerance * longRtt / shortRtt, 0.5, 1.0)，
+ * newLimit = limit * gradient + sqrt(limit)。
+ * 延迟未膨胀时限额缓慢增长，延迟膨胀（排队）时限额按比例收缩。
+ * <p>
+ * 请求路径只做原子计数，限额计算由窗口结束后第一个完成的请求执行。
+ *
+ * @author HKD Team
+ * @since 1.0.0
+ */
+public class GradientLimiter {
+
+    /**
+     * 长期基线的平滑系数（约等于最近600个窗口的均值）
+     */
+    private static final double LONG_RTT_ALPHA = 2.0 / 601;
+
+    @Getter
+    private final String method;
+    @Getter
+    private final RpcPriority priority;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double rttTolerance;
+    private final long windowNanos;
+    private final int minWindowSamples;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+    private final LongAdder windowRttSum = new LongAdder();
+    private final LongAdder windowSamples = new LongAdder();
+    private final LongAccumulator windowMaxInflight = new LongAccumulator(Math::max, 0);
+
+    private volatile double limit;
+    private volatile double longRtt;
+
+    public GradientLimiter(String method, RpcPriority priority, ConcurrencyLimitConfig config) {
+        this.method = method;
+        this.priority = priority;
+        this.minLimit = config.getMinLimit();
+        this.maxLimit = config.getMaxLimit();
+        this.smoothing = config.getSmoothing();
+        this.rttTolerance = config.getRttTolerance();
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(config.getWindowMillis());
+        this.minWindowSamples = config.getMinWindowSamples();
+        this.limit = config.getInitialLimit();
+    }
+
+    /**
+     * 尝试占用一个并发名额
+     *
+     * @return 超过该优先级可用的限额时返回false
+     */
+    public boolean tryAcquire() {
+        int current = inflight.incrementAndGet();
+        if (current > admitLimit()) {
+            inflight.decrementAndGet();
+            return false;
+        }
+        windowMaxInflight.accumulate(current);
+        return true;
+    }
+
+    /**
+     * 释放名额并记录延迟样本
+     *
+     * @param rttNanos 请求耗时，小于0表示不记录样本（如客户端取消）
+     */
+    public void release(long rttNanos) {
+        inflight.decrementAndGet();
+        if (rttNanos < 0) {
+            return;
+        }
+        windowRttSum.add(rttNanos);
+        windowSamples.increment();
+
+        long start = windowStart.get();
+        long now = System.nanoTime();
+        if (now - start >= windowNanos && windowSamples.sum() >= minWindowSamples
+                && windowStart.compareAndSet(start, now)) {
+            updateLimit();
+        }
+    }
+
+    /**
+     * 是否已用满全部限额（用于判断高优先级方法是否承压）
+     */
+    public boolean isSaturated() {
+        return inflight.get() >= (int) limit;
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    private int admitLimit() {
+        return Math.max(1, (int) (limit * priority.getAdmitRatio()));
+    }
+
+    /**
+     * 窗口结束时调整限额，同一时刻只有赢得CAS的线程执行
+     */
+    private void updateLimit() {
+        long samples = windowSamples.sumThenReset();
+        long rttSum = windowRttSum.sumThenReset();
+        long maxInflight = windowMaxInflight.getThenReset();
+        if (samples == 0) {
+            return;
+        }
+        double shortRtt = (double) rttSum / samples;
+
+        if (longRtt == 0) {
+            longRtt = shortRtt;
+            return;
+        }
+        longRtt = longRtt * (1 - LONG_RTT_ALPHA) + shortRtt * LONG_RTT_ALPHA;
+        // 延迟明显下降后让基线尽快回落，否则之后的延迟膨胀无法被及时识别
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+
+        double currentLimit = limit;
+        // 请求量不足限额一半时不增长，避免空闲期限额无限膨胀
+        if (maxInflight < currentLimit / 2 && shortRtt <= longRtt * rttTolerance) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * longRtt / shortRtt));
+        double newLimit = currentLimit * gradient + Math.sqrt(currentLimit);
+        newLimit = currentLimit * (1 - smoothing) + newLimit * smoothing;
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+}
@@ -0,0 +1,36 @@
+package com.hkd.auth.grpc.limit;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * RPC优先级
+ * 低优先级的RPC在达到自身限额前就开始被拒绝，并在高优先级RPC饱和时优先被拒绝
+ *
+ * @author HKD Team
+ * @since 1.0.0
+ */
+@Getter
+@RequiredArgsConstructor
+public enum RpcPriority {
+
+    /**
+     * 关键路径（如ValidateToken），可使用全部限额
+     */
+    HIGH(1.0),
+
+    /**
+     * 普通
+     */
+    NORMAL(0.9),
+
+    /**
+     * 可降级（如依赖数据库的慢调用）
+     */
+    LOW(0.7);
+
+    /**
+     * 可使用的并发限额比例
+     */
+    private final double admitRatio;
+}
@@ -0,0 +1,15 @@
+-- 认证审计日志：TOTP验证、权限拒绝、Token签发
+CREATE TABLE IF NOT EXISTS auth_audit_log (
+    id          BIGSERIAL    PRIMARY KEY,
+    event_type  VARCHAR(32)  NOT NULL,
+    user_id     VARCHAR(64),
+    success     BOOLEAN      NOT NULL,
+    resource    VARCHAR(128),
+    action      VARCHAR(64),
+    detail      VARCHAR(512),
+    occurred_at TIMESTAMPTZ  NOT NULL,
+    created_at  TIMESTAMPTZ  NOT NULL DEFAULT NOW()
+);
+
+CREATE INDEX IF NOT EXISTS idx_auth_audit_log_user_time ON auth_audit_log (user_id, occurred_at);
+CREATE INDEX IF NOT EXISTS idx_auth_audit_log_type_time ON auth_audit_log (event_type, occurred_at);
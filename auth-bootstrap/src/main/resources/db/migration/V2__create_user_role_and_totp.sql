@@ -0,0 +1,16 @@
+-- 用户角色：CheckPermission按 user_id IN (...) 批量查询
+CREATE TABLE IF NOT EXISTS user_role (
+    user_id    VARCHAR(64)  NOT NULL,
+    role       VARCHAR(32)  NOT NULL,
+    created_at TIMESTAMPTZ  NOT NULL DEFAULT NOW(),
+    PRIMARY KEY (user_id, role)
+);
+
+-- 用户TOTP密钥：ValidateTOTP按 user_id IN (...) 批量查询
+CREATE TABLE IF NOT EXISTS user_totp (
+    user_id    VARCHAR(64)  PRIMARY KEY,
+    secret     VARCHAR(64)  NOT NULL,
+    enabled    BOOLEAN      NOT NULL DEFAULT TRUE,
+    created_at TIMESTAMPTZ  NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMPTZ  NOT NULL DEFAULT NOW()
+);
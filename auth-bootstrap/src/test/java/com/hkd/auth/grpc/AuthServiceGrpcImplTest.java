@@ -0,0 +1,266 @@
+package com.hkd.auth.grpc;
+
+import com.hkd.auth.application.audit.AuditPublisher;
+import com.hkd.auth.application.audit.InMemoryAuditSink;
+import com.hkd.auth.application.config.AuditConfig;
+import com.hkd.auth.application.config.JwtConfig;
+import com.hkd.auth.application.config.PermissionConfig;
+import com.hkd.auth.application.config.RoleDictionaryConfig;
+import com.hkd.auth.application.service.JwtTokenProvider;
+import com.hkd.auth.application.service.PermissionService;
+import com.hkd.auth.application.service.RoleDictionary;
+import com.hkd.auth.domain.audit.AuditEvent;
+import com.hkd.auth.domain.audit.AuditEventType;
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuthServiceGrpcImplTest {
+
+    private static final String SECRET = "test_jwt_secret_key_for_unit_tests_only_2024";
+
+    private RoleDictionary roleDictionary;
+    private PermissionConfig permissionConfig;
+    private InMemoryAuditSink auditSink;
+    private AuditPublisher auditPublisher;
+    private JwtTokenProvider jwtTokenProvider;
+
+    @BeforeEach
+    void setUp() {
+        RoleDictionaryConfig roleDictionaryConfig = new RoleDictionaryConfig();
+        roleDictionaryConfig.setCurrentVersion(1);
+        roleDictionaryConfig.setVersions(Map.of(1, List.of("USER", "TRADER", "ADMIN")));
+        roleDictionary = new RoleDictionary(roleDictionaryConfig);
+
+        permissionConfig = new PermissionConfig();
+        permissionConfig.setMaxChecksPerRequest(4);
+        permissionConfig.setRoles(Map.of(
+                "USER", List.of(grant("order:*", "read")),
+                "TRADER", List.of(grant("order:*", "create", "read"))));
+
+        auditSink = new InMemoryAuditSink();
+        auditPublisher = new AuditPublisher(new AuditConfig(), auditSink, new SimpleMeterRegistry());
+        auditPublisher.start();
+        jwtTokenProvider = tokenProvider(SECRET, 3600L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        auditPublisher.stop();
+    }
+
+    @Test
+    void returnsIdentityAndDecisionsInRequestOrder() {
+        AuthorizeResponse response = authorize(service(), request(traderToken(),
+                check("order:spot", "create"),
+                check("asset:withdraw", "create"),
+                check("order:spot", "read"),
+                check("", "read")));
+
+        assertTrue(response.getValid());
+        assertEquals("user_1", response.getUserId());
+        assertEquals("trader1", response.getUsername());
+        assertEquals(List.of("TRADER"), response.getRolesList());
+
+        List<PermissionDecision> decisions = response.getDecisionsList();
+        assertEquals(4, decisions.size());
+        assertEquals(List.of("order:spot", "asset:withdraw", "order:spot", ""),
+                decisions.stream().map(PermissionDecision::getResource).toList());
+        assertEquals(List.of("create", "create", "read", "read"),
+                decisions.stream().map(PermissionDecision::getAction).toList());
+        assertEquals(List.of(true, false, true, false),
+                decisions.stream().map(PermissionDecision::getAllowed).toList());
+        assertEquals("用户无此操作权限", decisions.get(1).getReason());
+        assertEquals("资源标识不能为空", decisions.get(3).getReason());
+    }
+
+    @Test
+    void publishesOnePermissionDeniedEventPerDeniedCheck() {
+        authorize(service(), request(traderToken(),
+                check("order:spot", "create"),
+                check("asset:withdraw", "create"),
+                check("order:spot", "delete"),
+                check("order:spot", "read")));
+
+        List<AuditEvent> events = drainAuditEvents();
+        assertEquals(2, events.size());
+        for (AuditEvent event : events) {
+            assertEquals(AuditEventType.PERMISSION_DENIED, event.getType());
+            assertEquals("user_1", event.getUserId());
+            assertFalse(event.isSuccess());
+        }
+        assertEquals("asset:withdraw", events.get(0).getResource());
+        assertEquals("create", events.get(0).getAction());
+        assertEquals("order:spot", events.get(1).getResource());
+        assertEquals("delete", events.get(1).getAction());
+    }
+
+    @Test
+    void invalidTokensReturnNoIdentityOrDecisions() {
+        AuthServiceGrpcImpl service = service();
+        String expired = tokenProvider(SECRET, -60L)
+                .generateAccessToken("user_1", "trader1", "trader1@hkd.com", List.of("TRADER"));
+        String forged = tokenProvider("another_secret_key_that_is_also_long_enough_2024", 3600L)
+                .generateAccessToken("user_1", "trader1", "trader1@hkd.com", List.of("ADMIN"));
+        String refresh = jwtTokenProvider.generateRefreshToken("user_1");
+
+        for (String token : List.of("", "not-a-jwt", expired, forged, refresh)) {
+            AuthorizeResponse response = authorize(service, request(token, check("order:spot", "read")));
+
+            assertFalse(response.getValid(), "Token应无效: " + token);
+            assertFalse(response.getErrorMessage().isEmpty());
+            assertEquals(0, response.getDecisionsCount());
+            assertEquals("", response.getUserId());
+            assertEquals(0, response.getRolesCount());
+        }
+        assertEquals("Token已过期", authorize(service, request(expired)).getErrorMessage());
+        // Token无效时不做权限检查，也不产生拒绝审计
+        assertTrue(drainAuditEvents().isEmpty());
+    }
+
+    @Test
+    void rejectsRequestsWithTooManyChecks() {
+        AuthServiceGrpcImpl service = service();
+        PermissionCheck[] checks = new PermissionCheck[5];
+        for (int i = 0; i < checks.length; i++) {
+            checks[i] = check("asset:" + i, "read");
+        }
+
+        RecordingObserver<AuthorizeResponse> observer = new RecordingObserver<>();
+        service.authorize(request(traderToken(), checks), observer);
+
+        assertTrue(observer.values.isEmpty());
+        assertEquals(Status.Code.INVALID_ARGUMENT, Status.fromThrowable(observer.error).getCode());
+        assertTrue(drainAuditEvents().isEmpty(), "被拒绝的请求不应产生审计事件");
+
+        // 恰好等于上限时正常处理
+        AuthorizeResponse atLimit = authorize(service, request(traderToken(),
+                checks[0], checks[1], checks[2], checks[3]));
+        assertTrue(atLimit.getValid());
+        assertEquals(4, atLimit.getDecisionsCount());
+    }
+
+    @Test
+    void unexpectedFailureReturnsNoIdentity() {
+        PermissionService failing = new PermissionService(permissionConfig) {
+            @Override
+            public boolean isAllowed(List<String> roles, String resource, String action) {
+                if ("order:broken".equals(resource)) {
+                    throw new IllegalStateException("权限表损坏");
+                }
+                return super.isAllowed(roles, resource, action);
+            }
+        };
+
+        AuthorizeResponse response = authorize(service(failing), request(traderToken(),
+                check("order:spot", "read"),
+                check("order:broken", "read")));
+
+        assertFalse(response.getValid());
+        assertEquals("授权检查失败", response.getErrorMessage());
+        assertEquals("", response.getUserId());
+        assertEquals("", response.getUsername());
+        assertEquals("", response.getEmail());
+        assertEquals(0, response.getRolesCount());
+        assertEquals(0, response.getExpiresAt());
+        assertEquals(0, response.getDecisionsCount());
+    }
+
+    private AuthServiceGrpcImpl service() {
+        return service(new PermissionService(permissionConfig));
+    }
+
+    /**
+     * Authorize只使用Token中的角色，不访问TOTP和用户数据查询
+     */
+    private AuthServiceGrpcImpl service(PermissionService permissionService) {
+        return new AuthServiceGrpcImpl(jwtTokenProvider, roleDictionary, null, permissionService,
+                null, auditPublisher, null);
+    }
+
+    private JwtTokenProvider tokenProvider(String secret, long accessTokenExpire) {
+        JwtConfig jwtConfig = new JwtConfig();
+        jwtConfig.setSecret(secret);
+        jwtConfig.setAccessTokenExpire(accessTokenExpire);
+        jwtConfig.setRefreshTokenExpire(86400L);
+        jwtConfig.setIssuer("hkd-exchange");
+        return new JwtTokenProvider(jwtConfig, roleDictionary, auditPublisher);
+    }
+
+    private String traderToken() {
+        return jwtTokenProvider.generateAccessToken("user_1", "trader1", "trader1@hkd.com", List.of("TRADER"));
+    }
+
+    /**
+     * 停止发布器，等待队列中的事件全部写入
+     */
+    private List<AuditEvent> drainAuditEvents() {
+        auditPublisher.stop();
+        return auditSink.getEvents();
+    }
+
+    private static AuthorizeResponse authorize(AuthServiceGrpcImpl service, AuthorizeRequest request) {
+        RecordingObserver<AuthorizeResponse> observer = new RecordingObserver<>();
+        service.authorize(request, observer);
+
+        assertNull(observer.error);
+        assertTrue(observer.completed);
+        assertEquals(1, observer.values.size());
+        return observer.values.get(0);
+    }
+
+    private static AuthorizeRequest request(String token, PermissionCheck... checks) {
+        return AuthorizeRequest.newBuilder()
+                .setAccessToken(token)
+                .addAllChecks(List.of(checks))
+                .build();
+    }
+
+    private static PermissionCheck check(String resource, String action) {
+        return PermissionCheck.newBuilder().setResource(resource).setAction(action).build();
+    }
+
+    private static PermissionConfig.Grant grant(String resource, String... actions) {
+        PermissionConfig.Grant grant = new PermissionConfig.Grant();
+        grant.setResource(resource);
+        grant.setActions(List.of(actions));
+        return grant;
+    }
+
+    /**
+     * 记录响应的StreamObserver（Authorize同步响应，无需等待）
+     */
+    private static final class RecordingObserver<T> implements StreamObserver<T> {
+
+        private final List<T> values = new ArrayList<>();
+        private Throwable error;
+        private boolean completed;
+
+        @Override
+        public void onNext(T value) {
+            values.add(value);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            error = t;
+        }
+
+        @Override
+        public void onCompleted() {
+            completed = true;
+        }
+    }
+}
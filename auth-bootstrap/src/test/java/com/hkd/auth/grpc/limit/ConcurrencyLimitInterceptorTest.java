@@ -0,0 +1,210 @@
+package com.hkd.auth.grpc.limit;
+
+import com.hkd.auth.config.ConcurrencyLimitConfig;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.Status;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConcurrencyLimitInterceptorTest {
+
+    private static final String VALIDATE_TOKEN = "hkd.auth.v1.AuthService/ValidateToken";
+    private static final String VALIDATE_TOTP = "hkd.auth.v1.AuthService/ValidateTOTP";
+    private static final String HEALTH_CHECK = "grpc.health.v1.Health/Check";
+    private static final String REFLECTION = "grpc.reflection.v1alpha.ServerReflection/ServerReflectionInfo";
+
+    private static final MethodDescriptor.Marshaller<String> MARSHALLER = new MethodDescriptor.Marshaller<>() {
+        @Override
+        public InputStream stream(String value) {
+            return new ByteArrayInputStream(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public String parse(InputStream stream) {
+            throw new UnsupportedOperationException();
+        }
+    };
+
+    private ConcurrencyLimitConfig config;
+    private SimpleMeterRegistry meterRegistry;
+    private ConcurrencyLimitInterceptor interceptor;
+    private List<ServerCall<String, String>> handled;
+    private ServerCallHandler<String, String> handler;
+
+    @BeforeEach
+    void setUp() {
+        config = new ConcurrencyLimitConfig();
+        config.setInitialLimit(4);
+        config.setMinLimit(1);
+        meterRegistry = new SimpleMeterRegistry();
+        interceptor = new ConcurrencyLimitInterceptor(config, meterRegistry);
+        handled = new ArrayList<>();
+        // 处理器只记录调用，由测试决定何时结束
+        handler = (call, headers) -> {
+            handled.add(call);
+            return new ServerCall.Listener<>() {
+            };
+        };
+    }
+
+    @Test
+    void rejectsCallsOverTheLimit() {
+        List<RecordingCall> calls = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            RecordingCall call = new RecordingCall(VALIDATE_TOKEN);
+            interceptor.interceptCall(call, new Metadata(), handler);
+            calls.add(call);
+        }
+
+        assertEquals(4, handled.size());
+        for (int i = 0; i < 4; i++) {
+            assertNull(calls.get(i).closedStatus);
+        }
+        assertEquals(Status.Code.RESOURCE_EXHAUSTED, calls.get(4).closedStatus.getCode());
+        assertEquals(1.0, rejected(VALIDATE_TOKEN));
+    }
+
+    @Test
+    void shedsLowPriorityCallsWhileHighPriorityMethodIsSaturated() {
+        for (int i = 0; i < 3; i++) {
+            interceptor.interceptCall(new RecordingCall(VALIDATE_TOKEN), new Metadata(), handler);
+        }
+        RecordingCall admitted = new RecordingCall(VALIDATE_TOTP);
+        interceptor.interceptCall(admitted, new Metadata(), handler);
+        assertNull(admitted.closedStatus, "ValidateToken未饱和时LOW请求应放行");
+
+        interceptor.interceptCall(new RecordingCall(VALIDATE_TOKEN), new Metadata(), handler);
+        RecordingCall shed = new RecordingCall(VALIDATE_TOTP);
+        interceptor.interceptCall(shed, new Metadata(), handler);
+
+        // ValidateTOTP自身只用了1个名额，被拒绝是因为ValidateToken已用满4个
+        assertEquals(Status.Code.RESOURCE_EXHAUSTED, shed.closedStatus.getCode());
+        assertEquals(1.0, rejected(VALIDATE_TOTP));
+        assertEquals(0.0, rejected(VALIDATE_TOKEN));
+    }
+
+    @Test
+    void healthAndReflectionCallsBypassTheLimiter() {
+        for (int i = 0; i < 4; i++) {
+            interceptor.interceptCall(new RecordingCall(VALIDATE_TOKEN), new Metadata(), handler);
+        }
+
+        List<RecordingCall> builtIn = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            builtIn.add(new RecordingCall(HEALTH_CHECK));
+            builtIn.add(new RecordingCall(REFLECTION));
+        }
+        for (RecordingCall call : builtIn) {
+            interceptor.interceptCall(call, new Metadata(), handler);
+        }
+
+        assertEquals(24, handled.size());
+        assertTrue(builtIn.stream().allMatch(call -> call.closedStatus == null));
+        assertTrue(meterRegistry.find("hkd.grpc.concurrency.limit").tag("method", HEALTH_CHECK).gauges().isEmpty());
+        assertTrue(meterRegistry.find("hkd.grpc.concurrency.limit").tag("method", REFLECTION).gauges().isEmpty());
+    }
+
+    @Test
+    void closeReleasesTheSlot() {
+        ServerCall.Listener<String> listener =
+                interceptor.interceptCall(new RecordingCall(VALIDATE_TOKEN), new Metadata(), handler);
+        assertEquals(1.0, inflight(VALIDATE_TOKEN));
+
+        handled.get(0).close(Status.OK, new Metadata());
+        listener.onComplete();
+
+        assertEquals(0.0, inflight(VALIDATE_TOKEN));
+    }
+
+    @Test
+    void cancelFollowedByCloseReleasesExactlyOnce() {
+        ServerCall.Listener<String> listener =
+                interceptor.interceptCall(new RecordingCall(VALIDATE_TOKEN), new Metadata(), handler);
+        interceptor.interceptCall(new RecordingCall(VALIDATE_TOKEN), new Metadata(), handler);
+        assertEquals(2.0, inflight(VALIDATE_TOKEN));
+
+        listener.onCancel();
+        handled.get(0).close(Status.CANCELLED, new Metadata());
+
+        // 第二个调用仍在处理中，重复释放会使在途数变为0
+        assertEquals(1.0, inflight(VALIDATE_TOKEN));
+    }
+
+    @Test
+    void disabledInterceptorPassesEverythingThrough() {
+        config.setEnabled(false);
+        for (int i = 0; i < 10; i++) {
+            interceptor.interceptCall(new RecordingCall(VALIDATE_TOKEN), new Metadata(), handler);
+        }
+
+        assertEquals(10, handled.size());
+        assertTrue(meterRegistry.find("hkd.grpc.concurrency.rejected").counters().isEmpty());
+    }
+
+    private double rejected(String method) {
+        return meterRegistry.get("hkd.grpc.concurrency.rejected").tag("method", method).counter().count();
+    }
+
+    private double inflight(String method) {
+        return meterRegistry.get("hkd.grpc.concurrency.inflight").tag("method", method).gauge().value();
+    }
+
+    /**
+     * 记录关闭状态的ServerCall
+     */
+    private static final class RecordingCall extends ServerCall<String, String> {
+
+        private final MethodDescriptor<String, String> methodDescriptor;
+        private Status closedStatus;
+
+        RecordingCall(String fullMethodName) {
+            this.methodDescriptor = MethodDescriptor.<String, String>newBuilder()
+                    .setType(MethodDescriptor.MethodType.UNARY)
+                    .setFullMethodName(fullMethodName)
+                    .setRequestMarshaller(MARSHALLER)
+                    .setResponseMarshaller(MARSHALLER)
+                    .build();
+        }
+
+        @Override
+        public void request(int numMessages) {
+        }
+
+        @Override
+        public void sendHeaders(Metadata headers) {
+        }
+
+        @Override
+        public void sendMessage(String message) {
+        }
+
+        @Override
+        public void close(Status status, Metadata trailers) {
+            closedStatus = status;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return false;
+        }
+
+        @Override
+        public MethodDescriptor<String, String> getMethodDescriptor() {
+            return methodDescriptor;
+        }
+    }
+}
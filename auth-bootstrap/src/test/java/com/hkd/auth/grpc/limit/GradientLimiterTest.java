@@ -0,0 +1,165 @@
+package com.hkd.auth.grpc.limit;
+
+import com.hkd.auth.config.ConcurrencyLimitConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GradientLimiterTest {
+
+    private static final long BASE_RTT = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private ConcurrencyLimitConfig config;
+
+    @BeforeEach
+    void setUp() {
+        config = new ConcurrencyLimitConfig();
+        config.setInitialLimit(100);
+        config.setMinLimit(10);
+        config.setMaxLimit(1000);
+        // 每个样本都结束一个窗口，限额调整不依赖时间
+        config.setWindowMillis(0L);
+        config.setMinWindowSamples(1);
+    }
+
+    @Test
+    void admitsEachPriorityUpToItsShareOfTheLimit() {
+        assertEquals(100, acquireAll(limiter(RpcPriority.HIGH)));
+        assertEquals(90, acquireAll(limiter(RpcPriority.NORMAL)));
+        assertEquals(70, acquireAll(limiter(RpcPriority.LOW)));
+    }
+
+    @Test
+    void releaseFreesCapacity() {
+        GradientLimiter limiter = limiter(RpcPriority.LOW);
+        acquireAll(limiter);
+
+        assertFalse(limiter.tryAcquire());
+        limiter.release(-1);
+        assertTrue(limiter.tryAcquire());
+        assertEquals(70, limiter.getInflight());
+    }
+
+    @Test
+    void saturatedOnlyWhenInflightReachesFullLimit() {
+        GradientLimiter limiter = limiter(RpcPriority.HIGH);
+        for (int i = 0; i < 99; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+        assertFalse(limiter.isSaturated());
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.isSaturated());
+    }
+
+    @Test
+    void shrinksWhenShortRttExceedsToleranceOfLongRtt() {
+        GradientLimiter limiter = limiter(RpcPriority.HIGH);
+        sample(limiter, BASE_RTT);
+        assertEquals(100, limiter.getLimit());
+
+        // 延迟膨胀10倍，超过1.5倍容忍度：即使请求量很低也要收缩
+        sample(limiter, BASE_RTT * 10);
+        assertTrue(limiter.getLimit() < 100, "延迟膨胀时限额应收缩: " + limiter.getLimit());
+    }
+
+    @Test
+    void latencyWithinToleranceDoesNotShrink() {
+        GradientLimiter limiter = limiter(RpcPriority.HIGH);
+        sample(limiter, BASE_RTT);
+
+        for (int i = 0; i < 50; i++) {
+            sampleUnderLoad(limiter, 60, BASE_RTT * 14 / 10);
+        }
+        assertTrue(limiter.getLimit() >= 100, "容忍范围内的延迟不应收缩限额: " + limiter.getLimit());
+    }
+
+    @Test
+    void doesNotGrowWhileInflightStaysBelowHalfTheLimit() {
+        GradientLimiter limiter = limiter(RpcPriority.HIGH);
+        for (int i = 0; i < 100; i++) {
+            sampleUnderLoad(limiter, 49, BASE_RTT);
+        }
+        assertEquals(100, limiter.getLimit());
+
+        sampleUnderLoad(limiter, 50, BASE_RTT);
+        assertTrue(limiter.getLimit() > 100, "在途请求达到限额一半时应增长: " + limiter.getLimit());
+    }
+
+    @Test
+    void neverShrinksBelowMinLimit() {
+        config.setInitialLimit(25);
+        config.setMinLimit(20);
+        GradientLimiter limiter = limiter(RpcPriority.HIGH);
+        sample(limiter, BASE_RTT);
+
+        for (int i = 0; i < 50; i++) {
+            sample(limiter, BASE_RTT * 10);
+        }
+        assertEquals(20, limiter.getLimit());
+    }
+
+    @Test
+    void neverGrowsAboveMaxLimit() {
+        config.setInitialLimit(25);
+        config.setMaxLimit(30);
+        GradientLimiter limiter = limiter(RpcPriority.HIGH);
+        sample(limiter, BASE_RTT);
+
+        for (int i = 0; i < 50; i++) {
+            sampleUnderLoad(limiter, 25, BASE_RTT);
+        }
+        assertEquals(30, limiter.getLimit());
+    }
+
+    @Test
+    void cancelledCallsDoNotAdjustTheLimit() {
+        GradientLimiter limiter = limiter(RpcPriority.HIGH);
+        sample(limiter, BASE_RTT);
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(-1);
+        }
+        assertEquals(100, limiter.getLimit());
+        assertEquals(0, limiter.getInflight());
+    }
+
+    private GradientLimiter limiter(RpcPriority priority) {
+        return new GradientLimiter("hkd.auth.v1.AuthService/Test", priority, config);
+    }
+
+    private static int acquireAll(GradientLimiter limiter) {
+        int acquired = 0;
+        while (limiter.tryAcquire()) {
+            acquired++;
+        }
+        return acquired;
+    }
+
+    /**
+     * 单个请求，一个样本即结束一个窗口
+     */
+    private static void sample(GradientLimiter limiter, long rttNanos) {
+        assertTrue(limiter.tryAcquire());
+        limiter.release(rttNanos);
+    }
+
+    /**
+     * 同时占用concurrency个名额后逐个释放。第一个释放结束的窗口看到该在途峰值，
+     * 其余释放各自结束一个在途峰值为0的窗口
+     */
+    private static void sampleUnderLoad(GradientLimiter limiter, int concurrency, long rttNanos) {
+        for (int i = 0; i < concurrency; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+        for (int i = 0; i < concurrency; i++) {
+            limiter.release(rttNanos);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.hkd.auth.domain.audit;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * 认证审计事件
+ * 记录TOTP验证、权限拒绝、Token签发等需要合规留存的认证决策
+ *
+ * @author HKD Team
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditEvent {
+
+    /**
+     * 事件类型
+     */
+    private AuditEventType type;
+
+    /**
+     * 用户ID
+     */
+    private String userId;
+
+    /**
+     * 决策结果（验证通过/允许访问为true）
+     */
+    private boolean success;
+
+    /**
+     * 资源标识（仅权限检查）
+     */
+    private String resource;
+
+    /**
+     * 操作类型（仅权限检查）
+     */
+    private String action;
+
+    /**
+     * 附加说明（如拒绝原因）
+     */
+    private String detail;
+
+    /**
+     * 事件发生时间
+     */
+    private Instant occurredAt;
+}
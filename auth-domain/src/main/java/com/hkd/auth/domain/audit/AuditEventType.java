@@ -0,0 +1,25 @@
+package com.hkd.auth.domain.audit;
+
+/**
+ * 审计事件类型
+ *
+ * @author HKD Team
+ * @since 1.0.0
+ */
+public enum AuditEventType {
+
+    /**
+     * 签发Token
+     */
+    TOKEN_ISSUED,
+
+    /**
+     * TOTP验证（成功或失败）
+     */
+    TOTP_CHECK,
+
+    /**
+     * 权限检查被拒绝
+     */
+    PERMISSION_DENIED
+}
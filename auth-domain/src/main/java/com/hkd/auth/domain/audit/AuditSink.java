@@ -0,0 +1,23 @@
+package com.hkd.auth.domain.audit;
+
+import java.util.List;
+
+/**
+ * 审计事件存储
+ * 由后台写入线程按批调用，实现不需要线程安全
+ *
+ * @author HKD Team
+ * @since 1.0.0
+ */
+@FunctionalInterface
+public interface AuditSink {
+
+    /**
+     * 批量写入审计事件
+     *
+     * @param events 一批审计事件（调用返回后可能被复用，实现不得持有引用）
+     * @return 实际写入的条数，小于批次大小表示部分事件因数据错误被存储拒绝并丢弃
+     * @throws RuntimeException 写入失败（如存储不可用），整批未写入，由调用方决定是否重试
+     */
+    int write(List<AuditEvent> events);
+}
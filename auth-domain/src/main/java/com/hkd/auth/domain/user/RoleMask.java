@@ -0,0 +1,12 @@
+package com.hkd.auth.domain.user;
+
+/**
+ * 按角色字典编码的角色集合
+ *
+ * @param dictionaryVersion 编码使用的角色字典版本
+ * @param mask              角色位掩码，第n位表示字典中下标为n的角色
+ * @author HKD Team
+ * @since 1.0.0
+ */
+public record RoleMask(int dictionaryVersion, long mask) {
+}
@@ -0,0 +1,23 @@
+package com.hkd.auth.domain.user;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 用户角色存储
+ *
+ * @author HKD Team
+ * @since 1.0.0
+ */
+@FunctionalInterface
+public interface UserRoleRepository {
+
+    /**
+     * 批量查询用户角色
+     *
+     * @param userIds 用户ID集合
+     * @return 用户ID → 角色列表，没有角色的用户不出现在结果中
+     */
+    Map<String, List<String>> findRolesByUserIds(Collection<String> userIds);
+}
@@ -0,0 +1,28 @@
+package com.hkd.auth.domain.user;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 用户安全数据异步加载
+ * 实现负责合并对同一用户的并发查询，并将不同用户的查询合并为批量查询
+ *
+ * @author HKD Team
+ * @since 1.0.0
+ */
+public interface UserSecurityLoader {
+
+    /**
+     * 加载用户角色
+     *
+     * @return 角色列表，用户没有角色时为空列表
+     */
+    CompletableFuture<List<String>> loadRoles(String userId);
+
+    /**
+     * 加载用户TOTP密钥
+     *
+     * @return TOTP密钥，用户未启用双因素认证时为null
+     */
+    CompletableFuture<String> loadTotpSecret(String userId);
+}
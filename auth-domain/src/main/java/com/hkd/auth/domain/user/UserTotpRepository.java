@@ -0,0 +1,22 @@
+package com.hkd.auth.domain.user;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * 用户TOTP密钥存储
+ *
+ * @author HKD Team
+ * @since 1.0.0
+ */
+@FunctionalInterface
+public interface UserTotpRepository {
+
+    /**
+     * 批量查询已启用双因素认证的用户的TOTP密钥
+     *
+     * @param userIds 用户ID集合
+     * @return 用户ID → TOTP密钥（Base32编码），未启用的用户不出现在结果中
+     */
+    Map<String, String> findSecretsByUserIds(Collection<String> userIds);
+}
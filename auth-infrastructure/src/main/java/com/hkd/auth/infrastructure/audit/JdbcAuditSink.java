@@ -0,0 +1,109 @@
+package com.hkd.auth.infrastructure.audit;
+
+import com.hkd.auth.domain.audit.AuditEvent;
+import com.hkd.auth.domain.audit.AuditSink;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * PostgreSQL审计存储
+ * 每批事件使用一条多行INSERT写入，一次网络往返、一次提交。
+ * 字段按列宽截断；仍被数据库以数据错误拒绝的批次二分拆分重写，只丢弃无法写入的行
+ *
+ * @author HKD Team
+ * @since 1.0.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class JdbcAuditSink implements AuditSink {
+
+    private static final String INSERT_PREFIX =
+            "INSERT INTO auth_audit_log (event_type, user_id, success, resource, action, detail, occurred_at) VALUES ";
+
+    private static final String ROW_PLACEHOLDER = "(?, ?, ?, ?, ?, ?, ?)";
+
+    private static final int COLUMNS = 7;
+
+    /**
+     * 单条语句的最大行数（PostgreSQL单条语句最多65535个绑定参数）
+     */
+    private static final int MAX_ROWS_PER_STATEMENT = 65535 / COLUMNS;
+
+    /**
+     * 列宽，与 V1__create_auth_audit_log.sql 一致
+     */
+    private static final int USER_ID_LENGTH = 64;
+    private static final int RESOURCE_LENGTH = 128;
+    private static final int ACTION_LENGTH = 64;
+    private static final int DETAIL_LENGTH = 512;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int write(List<AuditEvent> events) {
+        int written = 0;
+        for (int from = 0; from < events.size(); from += MAX_ROWS_PER_STATEMENT) {
+            int to = Math.min(from + MAX_ROWS_PER_STATEMENT, events.size());
+            written += insertIsolating(events.subList(from, to));
+        }
+        log.debug("审计事件写入完成: {}/{}条", written, events.size());
+        return written;
+    }
+
+    /**
+     * 写入一批事件；数据错误时二分拆分，定位并跳过被拒绝的行
+     * 连接失败等其他异常直接抛出，由调用方重试整批
+     *
+     * @return 实际写入的行数
+     */
+    private int insertIsolating(List<AuditEvent> rows) {
+        try {
+            insert(rows);
+            return rows.size();
+        } catch (DataIntegrityViolationException e) {
+            if (rows.size() == 1) {
+                AuditEvent event = rows.get(0);
+                log.error("审计事件被数据库拒绝，已丢弃: type={}, userId={}, error={}",
+                        event.getType(), truncate(event.getUserId(), USER_ID_LENGTH), e.getMessage());
+                return 0;
+            }
+            int middle = rows.size() / 2;
+            return insertIsolating(rows.subList(0, middle)) + insertIsolating(rows.subList(middle, rows.size()));
+        }
+    }
+
+    private void insert(List<AuditEvent> rows) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + rows.size() * (ROW_PLACEHOLDER.length() + 2));
+        sql.append(INSERT_PREFIX);
+        Object[] args = new Object[rows.size() * COLUMNS];
+
+        int i = 0;
+        for (AuditEvent event : rows) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(ROW_PLACEHOLDER);
+            args[i++] = event.getType().name();
+            args[i++] = truncate(event.getUserId(), USER_ID_LENGTH);
+            args[i++] = event.isSuccess();
+            args[i++] = truncate(event.getResource(), RESOURCE_LENGTH);
+            args[i++] = truncate(event.getAction(), ACTION_LENGTH);
+            args[i++] = truncate(event.getDetail(), DETAIL_LENGTH);
+            args[i++] = Timestamp.from(event.getOccurredAt());
+        }
+
+        jdbcTemplate.update(sql.toString(), args);
+    }
+
+    /**
+     * 截断到列宽（字段来自客户端请求，长度不受控）
+     */
+    private static String truncate(String value, int maxLength) {
+        return value == null || value.length() <= maxLength ? value : value.substring(0, maxLength);
+    }
+}
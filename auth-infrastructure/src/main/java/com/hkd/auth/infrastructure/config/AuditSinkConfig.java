@@ -0,0 +1,32 @@
+package com.hkd.auth.infrastructure.config;
+
+import com.hkd.auth.application.audit.InMemoryAuditSink;
+import com.hkd.auth.domain.audit.AuditSink;
+import com.hkd.auth.infrastructure.audit.JdbcAuditSink;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * 审计存储配置
+ * 通过 hkd.audit.sink 选择存储实现
+ *
+ * @author HKD Team
+ * @since 1.0.0
+ */
+@Configuration
+public class AuditSinkConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "hkd.audit", name = "sink", havingValue = "jdbc", matchIfMissing = true)
+    public AuditSink jdbcAuditSink(JdbcTemplate jdbcTemplate) {
+        return new JdbcAuditSink(jdbcTemplate);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "hkd.audit", name = "sink", havingValue = "memory")
+    public AuditSink inMemoryAuditSink() {
+        return new InMemoryAuditSink();
+    }
+}
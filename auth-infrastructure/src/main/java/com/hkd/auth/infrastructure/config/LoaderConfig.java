@@ -0,0 +1,37 @@
+package com.hkd.auth.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 合并加载器配置属性
+ *
+ * @author HKD Team
+ * @since 1.0.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "hkd.loader")
+public class LoaderConfig {
+
+    /**
+     * 批处理窗口（微秒），窗口内不同用户的查询合并为一次IN查询
+     */
+    private Long batchWindowMicros = 2000L;
+
+    /**
+     * 单批最大用户数，达到后立即查询
+     */
+    private Integer maxBatchSize = 100;
+
+    /**
+     * 执行批量查询的线程数
+     */
+    private Integer queryThreads = 4;
+
+    /**
+     * 单次加载超时（毫秒）
+     */
+    private Long loadTimeoutMillis = 1000L;
+}
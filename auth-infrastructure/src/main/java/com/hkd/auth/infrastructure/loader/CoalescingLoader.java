@@ -0,0 +1,186 @@
+package com.hkd.auth.infrastructure.loader;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 单飞（single-flight）合并加载器
+ * <ul>
+ *   <li>同一个key同时只有一个查询在途，并发请求共享同一个Future</li>
+ *   <li>不同key在批处理窗口内到达的请求合并为一次批量查询（如 WHERE user_id IN (...)）</li>
+ * </ul>
+ *
+ * @author HKD Team
+ * @since 1.0.0
+ */
+@Slf4j
+public class CoalescingLoader<K, V> {
+
+    private final String name;
+    private final Function<List<K>, Map<K, V>> batchFunction;
+    private final ScheduledExecutorService scheduler;
+    private final Executor queryExecutor;
+    private final long batchWindowMicros;
+    private final int maxBatchSize;
+    private final long loadTimeoutMillis;
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Object pendingLock = new Object();
+    private List<PendingLoad<K, V>> pending = new ArrayList<>();
+    private boolean flushScheduled;
+
+    private final Counter requestCounter;
+    private final Counter coalescedCounter;
+    private final DistributionSummary batchSizeSummary;
+
+    /**
+     * @param name              加载器名称（用于日志和指标标签）
+     * @param batchFunction     批量查询，返回结果中缺失的key对应null
+     * @param scheduler         批处理窗口定时器
+     * @param queryExecutor     执行批量查询的线程池
+     * @param batchWindowMicros 批处理窗口（微秒）
+     * @param maxBatchSize      单批最大key数量，达到后立即查询
+     * @param loadTimeoutMillis 单次加载超时（毫秒）
+     */
+    public CoalescingLoader(String name, Function<List<K>, Map<K, V>> batchFunction,
+                            ScheduledExecutorService scheduler, Executor queryExecutor,
+                            long batchWindowMicros, int maxBatchSize, long loadTimeoutMillis,
+                            MeterRegistry meterRegistry) {
+        this.name = name;
+        this.batchFunction = batchFunction;
+        this.scheduler = scheduler;
+        this.queryExecutor = queryExecutor;
+        this.batchWindowMicros = batchWindowMicros;
+        this.maxBatchSize = maxBatchSize;
+        this.loadTimeoutMillis = loadTimeoutMillis;
+
+        this.requestCounter = Counter.builder("hkd.loader.requests")
+                .description("加载请求数")
+                .tag("loader", name)
+                .register(meterRegistry);
+        this.coalescedCounter = Counter.builder("hkd.loader.coalesced")
+                .description("与在途查询合并的请求数")
+                .tag("loader", name)
+                .register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("hkd.loader.batch.size")
+                .description("批量查询的key数量")
+                .tag("loader", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 加载key对应的值
+     *
+     * @return 值不存在时以null完成；查询失败或超时时异常完成
+     */
+    public CompletableFuture<V> load(K key) {
+        requestCounter.increment();
+
+        CompletableFuture<V> existing = inFlight.get(key);
+        if (existing != null) {
+            coalescedCounter.increment();
+            return existing;
+        }
+
+        CompletableFuture<V> future = new CompletableFuture<>();
+        existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            coalescedCounter.increment();
+            return existing;
+        }
+
+        // 超时或完成后都移出在途表，之后的请求会发起新的查询
+        future.orTimeout(loadTimeoutMillis, TimeUnit.MILLISECONDS)
+                .whenComplete((value, error) -> inFlight.remove(key, future));
+        enqueue(new PendingLoad<>(key, future));
+        return future;
+    }
+
+    private void enqueue(PendingLoad<K, V> load) {
+        List<PendingLoad<K, V>> fullBatch = null;
+        synchronized (pendingLock) {
+            pending.add(load);
+            if (pending.size() >= maxBatchSize) {
+                fullBatch = pending;
+                pending = new ArrayList<>();
+            } else if (!flushScheduled) {
+                flushScheduled = true;
+                scheduler.schedule(this::flushPending, batchWindowMicros, TimeUnit.MICROSECONDS);
+            }
+        }
+        if (fullBatch != null) {
+            dispatch(fullBatch);
+        }
+    }
+
+    private void flushPending() {
+        List<PendingLoad<K, V>> batch;
+        synchronized (pendingLock) {
+            flushScheduled = false;
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new ArrayList<>();
+        }
+        dispatch(batch);
+    }
+
+    private void dispatch(List<PendingLoad<K, V>> batch) {
+        batchSizeSummary.record(batch.size());
+        try {
+            queryExecutor.execute(() -> query(batch));
+        } catch (RejectedExecutionException e) {
+            log.warn("批量查询被拒绝: loader={}, size={}", name, batch.size());
+            fail(batch, e);
+        }
+    }
+
+    private void query(List<PendingLoad<K, V>> batch) {
+        // 超时后同一key可能再次入队，查询时去重
+        LinkedHashSet<K> keys = new LinkedHashSet<>(batch.size());
+        for (PendingLoad<K, V> load : batch) {
+            keys.add(load.key());
+        }
+
+        Map<K, V> result;
+        try {
+            result = batchFunction.apply(new ArrayList<>(keys));
+        } catch (Exception e) {
+            log.error("批量查询失败: loader={}, size={}, error={}", name, keys.size(), e.getMessage());
+            fail(batch, e);
+            return;
+        }
+
+        // 只完成本批次的Future；已超时的Future完成无效果，之后发起的新查询不受影响
+        for (PendingLoad<K, V> load : batch) {
+            load.future().complete(result.get(load.key()));
+        }
+    }
+
+    private void fail(List<PendingLoad<K, V>> batch, Throwable error) {
+        for (PendingLoad<K, V> load : batch) {
+            load.future().completeExceptionally(error);
+        }
+    }
+
+    /**
+     * 等待查询的key及其对应的Future
+     */
+    private record PendingLoad<K, V>(K key, CompletableFuture<V> future) {
+    }
+}
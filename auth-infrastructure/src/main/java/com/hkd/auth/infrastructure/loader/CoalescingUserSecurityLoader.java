@@ -0,0 +1,85 @@
+package com.hkd.auth.infrastructure.loader;
+
+import com.hkd.auth.domain.user.UserRoleRepository;
+import com.hkd.auth.domain.user.UserSecurityLoader;
+import com.hkd.auth.domain.user.UserTotpRepository;
+import com.hkd.auth.infrastructure.config.LoaderConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 用户安全数据合并加载器
+ * 提现高峰时同一用户的多个会话会同时触发TOTP验证和权限检查，
+ * 这里将同一用户的并发查询合并为一次，并将短时间内不同用户的查询合并为批量IN查询
+ *
+ * @author HKD Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class CoalescingUserSecurityLoader implements UserSecurityLoader, AutoCloseable {
+
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService queryExecutor;
+    private final CoalescingLoader<String, List<String>> roleLoader;
+    private final CoalescingLoader<String, String> totpSecretLoader;
+
+    public CoalescingUserSecurityLoader(UserRoleRepository userRoleRepository,
+                                        UserTotpRepository userTotpRepository,
+                                        LoaderConfig loaderConfig,
+                                        MeterRegistry meterRegistry) {
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(daemonThreads("user-loader-timer"));
+        this.queryExecutor = Executors.newFixedThreadPool(loaderConfig.getQueryThreads(),
+                daemonThreads("user-loader-query"));
+
+        this.roleLoader = new CoalescingLoader<>("user_role",
+                userRoleRepository::findRolesByUserIds,
+                scheduler, queryExecutor,
+                loaderConfig.getBatchWindowMicros(), loaderConfig.getMaxBatchSize(),
+                loaderConfig.getLoadTimeoutMillis(), meterRegistry);
+        this.totpSecretLoader = new CoalescingLoader<>("user_totp",
+                userTotpRepository::findSecretsByUserIds,
+                scheduler, queryExecutor,
+                loaderConfig.getBatchWindowMicros(), loaderConfig.getMaxBatchSize(),
+                loaderConfig.getLoadTimeoutMillis(), meterRegistry);
+    }
+
+    @Override
+    public CompletableFuture<List<String>> loadRoles(String userId) {
+        return roleLoader.load(userId).thenApply(roles -> roles != null ? roles : List.of());
+    }
+
+    @Override
+    public CompletableFuture<String> loadTotpSecret(String userId) {
+        // 返回副本，调用方对Future的操作不影响共享同一查询的其他请求
+        return totpSecretLoader.load(userId).copy();
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        scheduler.shutdown();
+        queryExecutor.shutdown();
+        if (!queryExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+            log.warn("用户数据查询线程未能在5秒内结束");
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, prefix + "-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
@@ -0,0 +1,41 @@
+package com.hkd.auth.infrastructure.repository;
+
+import com.hkd.auth.domain.user.UserRoleRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 用户角色存储（PostgreSQL）
+ *
+ * @author HKD Team
+ * @since 1.0.0
+ */
+@Repository
+@RequiredArgsConstructor
+public class JdbcUserRoleRepository implements UserRoleRepository {
+
+    private static final String SELECT_ROLES =
+            "SELECT user_id, role FROM user_role WHERE user_id IN (:userIds)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public Map<String, List<String>> findRolesByUserIds(Collection<String> userIds) {
+        Map<String, List<String>> result = new HashMap<>();
+        if (userIds.isEmpty()) {
+            return result;
+        }
+        jdbcTemplate.query(SELECT_ROLES, Map.of("userIds", userIds), rs -> {
+            result.computeIfAbsent(rs.getString("user_id"), k -> new ArrayList<>())
+                    .add(rs.getString("role"));
+        });
+        return result;
+    }
+}
@@ -0,0 +1,38 @@
+package com.hkd.auth.infrastructure.repository;
+
+import com.hkd.auth.domain.user.UserTotpRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 用户TOTP密钥存储（PostgreSQL）
+ *
+ * @author HKD Team
+ * @since 1.0.0
+ */
+@Repository
+@RequiredArgsConstructor
+public class JdbcUserTotpRepository implements UserTotpRepository {
+
+    private static final String SELECT_SECRETS =
+            "SELECT user_id, secret FROM user_totp WHERE enabled = TRUE AND user_id IN (:userIds)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public Map<String, String> findSecretsByUserIds(Collection<String> userIds) {
+        Map<String, String> result = new HashMap<>();
+        if (userIds.isEmpty()) {
+            return result;
+        }
+        jdbcTemplate.query(SELECT_SECRETS, Map.of("userIds", userIds), rs -> {
+            result.put(rs.getString("user_id"), rs.getString("secret"));
+        });
+        return result;
+    }
+}
@@ -0,0 +1,230 @@
+package com.hkd.auth.infrastructure.loader;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CoalescingLoaderTest {
+
+    private static final long LONG_WINDOW_MICROS = TimeUnit.SECONDS.toMicros(10);
+
+    private ScheduledExecutorService scheduler;
+    private SimpleMeterRegistry meterRegistry;
+    /**
+     * 手动执行的查询线程池，测试控制批量查询的执行时机
+     */
+    private Queue<Runnable> queries;
+    private List<List<String>> batches;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        meterRegistry = new SimpleMeterRegistry();
+        queries = new ConcurrentLinkedQueue<>();
+        batches = new CopyOnWriteArrayList<>();
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    void concurrentRequestsForSameKeyShareOneQuery() throws Exception {
+        CoalescingLoader<String, String> loader = loader(upperCase(), LONG_WINDOW_MICROS, 1, 1000);
+
+        CompletableFuture<String> first = loader.load("a");
+        CompletableFuture<String> second = loader.load("a");
+        CompletableFuture<String> third = loader.load("a");
+
+        assertSame(first, second);
+        assertSame(first, third);
+        assertEquals(1, queries.size());
+
+        runNextQuery();
+        assertEquals("A", first.get(1, TimeUnit.SECONDS));
+        assertEquals(List.of(List.of("a")), batches);
+        assertEquals(3.0, meterRegistry.get("hkd.loader.requests").counter().count());
+        assertEquals(2.0, meterRegistry.get("hkd.loader.coalesced").counter().count());
+    }
+
+    @Test
+    void completedKeyIsQueriedAgain() throws Exception {
+        CoalescingLoader<String, String> loader = loader(upperCase(), LONG_WINDOW_MICROS, 1, 1000);
+
+        CompletableFuture<String> first = loader.load("a");
+        runNextQuery();
+        assertEquals("A", first.get(1, TimeUnit.SECONDS));
+
+        CompletableFuture<String> second = awaitNewFuture(loader, "a", first);
+        runNextQuery();
+        assertEquals("A", second.get(1, TimeUnit.SECONDS));
+        assertEquals(2, batches.size());
+    }
+
+    @Test
+    void distinctKeysWithinWindowAreBatched() throws Exception {
+        CoalescingLoader<String, String> loader = loader(upperCase(), TimeUnit.MILLISECONDS.toMicros(20), 100, 1000);
+
+        CompletableFuture<String> a = loader.load("a");
+        CompletableFuture<String> b = loader.load("b");
+        CompletableFuture<String> c = loader.load("c");
+        assertTrue(queries.isEmpty(), "批处理窗口结束前不应查询");
+
+        awaitQueries(1);
+        runNextQuery();
+
+        assertEquals(List.of(List.of("a", "b", "c")), batches);
+        assertEquals("A", a.get(1, TimeUnit.SECONDS));
+        assertEquals("B", b.get(1, TimeUnit.SECONDS));
+        assertEquals("C", c.get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void fullBatchIsDispatchedWithoutWaitingForWindow() {
+        CoalescingLoader<String, String> loader = loader(upperCase(), LONG_WINDOW_MICROS, 2, 1000);
+
+        loader.load("a");
+        assertTrue(queries.isEmpty());
+        loader.load("b");
+
+        assertEquals(1, queries.size());
+        runNextQuery();
+        assertEquals(List.of(List.of("a", "b")), batches);
+    }
+
+    @Test
+    void missingKeyCompletesWithNull() throws Exception {
+        CoalescingLoader<String, String> loader = loader(keys -> Map.of(), LONG_WINDOW_MICROS, 1, 1000);
+
+        CompletableFuture<String> future = loader.load("a");
+        runNextQuery();
+
+        assertNull(future.get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void failedQueryFailsEveryRequestInBatch() {
+        CoalescingLoader<String, String> loader = loader(keys -> {
+            throw new IllegalStateException("数据库不可用");
+        }, LONG_WINDOW_MICROS, 2, 1000);
+
+        CompletableFuture<String> a = loader.load("a");
+        CompletableFuture<String> b = loader.load("b");
+        runNextQuery();
+
+        for (CompletableFuture<String> future : List.of(a, b)) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(1, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, e.getCause());
+        }
+    }
+
+    @Test
+    void lateFailureOfTimedOutBatchDoesNotFailNewerRequest() throws Exception {
+        Queue<Function<List<String>, Map<String, String>>> responses = new ConcurrentLinkedQueue<>(List.of(
+                keys -> {
+                    throw new IllegalStateException("旧查询失败");
+                },
+                keys -> Map.of("a", "new")));
+        CoalescingLoader<String, String> loader = loader(keys -> responses.poll().apply(keys),
+                LONG_WINDOW_MICROS, 1, 20);
+
+        CompletableFuture<String> timedOut = loader.load("a");
+        ExecutionException e = assertThrows(ExecutionException.class, () -> timedOut.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(TimeoutException.class, e.getCause());
+
+        CompletableFuture<String> newer = awaitNewFuture(loader, "a", timedOut);
+        assertEquals(2, queries.size());
+
+        // 旧批次在新查询完成前失败，不应影响新请求
+        runNextQuery();
+        assertFalse(newer.isDone());
+
+        runNextQuery();
+        assertEquals("new", newer.get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void keyRequeuedAfterTimeoutIsQueriedOnce() throws Exception {
+        CoalescingLoader<String, String> loader = loader(upperCase(), LONG_WINDOW_MICROS, 2, 20);
+
+        CompletableFuture<String> timedOut = loader.load("a");
+        assertThrows(ExecutionException.class, () -> timedOut.get(1, TimeUnit.SECONDS));
+        CompletableFuture<String> retried = awaitNewFuture(loader, "a", timedOut);
+
+        runNextQuery();
+        assertEquals(List.of(List.of("a")), batches);
+        assertEquals("A", retried.get(1, TimeUnit.SECONDS));
+    }
+
+    private CoalescingLoader<String, String> loader(Function<List<String>, Map<String, String>> batchFunction,
+                                                    long batchWindowMicros, int maxBatchSize,
+                                                    long loadTimeoutMillis) {
+        return new CoalescingLoader<>("test", keys -> {
+            batches.add(List.copyOf(keys));
+            return batchFunction.apply(keys);
+        }, scheduler, queries::add, batchWindowMicros, maxBatchSize, loadTimeoutMillis, meterRegistry);
+    }
+
+    private static Function<List<String>, Map<String, String>> upperCase() {
+        return keys -> {
+            Map<String, String> result = new HashMap<>();
+            keys.forEach(key -> result.put(key, key.toUpperCase()));
+            return result;
+        };
+    }
+
+    private void runNextQuery() {
+        Runnable query = queries.poll();
+        assertTrue(query != null, "没有待执行的查询");
+        query.run();
+    }
+
+    private void awaitQueries(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (queries.size() < count) {
+            assertTrue(System.nanoTime() < deadline, "等待批量查询超时");
+            Thread.sleep(1);
+        }
+    }
+
+    /**
+     * 已完成的Future从在途表移除后，同一key的请求会得到新的Future
+     */
+    private static CompletableFuture<String> awaitNewFuture(CoalescingLoader<String, String> loader, String key,
+                                                            CompletableFuture<String> previous)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        CompletableFuture<String> future;
+        while ((future = loader.load(key)) == previous) {
+            assertTrue(System.nanoTime() < deadline, "在途Future未被移除");
+            Thread.sleep(1);
+        }
+        assertNotSame(previous, future);
+        return future;
+    }
+}
@@ -0,0 +1,67 @@
+package com.hkd.auth.loadtest;
+
+import com.hkd.auth.loadtest.channel.AuthChannels;
+import com.hkd.auth.loadtest.config.LoadTestConfig;
+import com.hkd.auth.loadtest.generator.OpenLoopGenerator;
+import com.hkd.auth.loadtest.metrics.LatencyReporter;
+import com.hkd.auth.loadtest.metrics.RpcKind;
+import com.hkd.auth.loadtest.metrics.RpcStats;
+import com.hkd.auth.loadtest.metrics.SummaryWriter;
+import com.hkd.auth.loadtest.token.TokenPool;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Auth Service 压测入口
+ * 以固定到达速率驱动 ValidateToken / ValidateTOTP / CheckPermission，
+ * 输出HdrHistogram延迟分布和JSON汇总
+ *
+ * <pre>
+ * java -jar auth-loadtest.jar --target=localhost:9013 --rate=50000 --duration-seconds=60
+ * java -jar auth-loadtest.jar --target=inprocess --rate=50000
+ * </pre>
+ *
+ * @author HKD Team
+ * @since 1.0.0
+ */
+@Slf4j
+public class LoadTestMain {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromArgs(args);
+        Path outputDir = Path.of(config.getOutputDir());
+        Files.createDirectories(outputDir);
+
+        log.info("压测开始: target={}, rate={}/s, warmup={}s, duration={}s",
+                config.getTarget(), config.getRate(), config.getWarmupSeconds(), config.getDurationSeconds());
+
+        Map<RpcKind, RpcStats> stats = new EnumMap<>(RpcKind.class);
+        for (RpcKind kind : RpcKind.values()) {
+            stats.put(kind, new RpcStats(kind));
+        }
+        TokenPool tokenPool = new TokenPool(config);
+
+        long scheduled;
+        long measuredMillis;
+        try (AuthChannels channels = new AuthChannels(config)) {
+            OpenLoopGenerator generator = new OpenLoopGenerator(config, channels, tokenPool, stats);
+            long measureStartMillis = System.currentTimeMillis()
+                    + TimeUnit.SECONDS.toMillis(config.getWarmupSeconds());
+
+            LatencyReporter reporter = new LatencyReporter(stats, outputDir.resolve("latency.hlog"),
+                    measureStartMillis);
+            try (reporter) {
+                reporter.start(config.getReportIntervalSeconds());
+                scheduled = generator.run(System.nanoTime());
+            }
+            measuredMillis = reporter.getMeasuredMillis();
+        }
+
+        new SummaryWriter().write(outputDir, config, stats, scheduled, measuredMillis);
+    }
+}
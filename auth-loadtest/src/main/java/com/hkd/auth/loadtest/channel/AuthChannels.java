@@ -0,0 +1,158 @@
+package com.hkd.auth.loadtest.channel;
+
+import com.hkd.auth.application.audit.AuditPublisher;
+import com.hkd.auth.application.config.AuditConfig;
+import com.hkd.auth.application.config.JwtConfig;
+import com.hkd.auth.application.config.PermissionConfig;
+import com.hkd.auth.application.config.TotpConfig;
+import com.hkd.auth.application.config.UserCacheConfig;
+import com.hkd.auth.application.service.JwtTokenProvider;
+import com.hkd.auth.application.service.PermissionService;
+import com.hkd.auth.application.service.RoleDictionary;
+import com.hkd.auth.application.service.TotpService;
+import com.hkd.auth.application.service.UserSecurityService;
+import com.hkd.auth.config.CallbackExecutorConfig;
+import com.hkd.auth.domain.user.UserRoleRepository;
+import com.hkd.auth.domain.user.UserTotpRepository;
+import com.hkd.auth.grpc.AuthServiceGrpc;
+import com.hkd.auth.grpc.AuthServiceGrpcImpl;
+import com.hkd.auth.grpc.RpcCallbackExecutor;
+import com.hkd.auth.infrastructure.config.LoaderConfig;
+import com.hkd.auth.infrastructure.loader.CoalescingUserSecurityLoader;
+import com.hkd.auth.loadtest.config.LoadTestConfig;
+import com.hkd.auth.loadtest.token.TokenPool;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.Server;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 压测使用的gRPC Channel
+ * 真实模式连接到运行中的auth-service；进程内模式直接托管AuthServiceGrpcImpl，
+ * 排除网络开销，用于单独评估服务实现本身的延迟
+ *
+ * @author HKD Team
+ * @since 1.0.0
+ */
+@Slf4j
+public class AuthChannels implements AutoCloseable {
+
+    private final List<ManagedChannel> channels = new ArrayList<>();
+    private final List<AuthServiceGrpc.AuthServiceFutureStub> stubs = new ArrayList<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private Server inProcessServer;
+    private AuditPublisher auditPublisher;
+    private CoalescingUserSecurityLoader userSecurityLoader;
+    private RpcCallbackExecutor callbackExecutor;
+
+    public AuthChannels(LoadTestConfig config) throws IOException {
+        if (config.isInProcess()) {
+            // 审计事件走完整的队列和写入线程，但不落库
+            auditPublisher = new AuditPublisher(new AuditConfig(), List::size, new SimpleMeterRegistry());
+            auditPublisher.start();
+            // 用户角色和TOTP密钥走完整的合并加载器和缓存，数据来自内存
+            TotpService totpService = new TotpService(new TotpConfig());
+            String totpSecret = totpService.generateSecret();
+            UserRoleRepository roleRepository = userIds -> userIds.stream()
+                    .distinct()
+                    .collect(Collectors.toMap(Function.identity(), id -> List.of("TRADER")));
+            UserTotpRepository totpRepository = userIds -> userIds.stream()
+                    .distinct()
+                    .collect(Collectors.toMap(Function.identity(), id -> totpSecret));
+            userSecurityLoader = new CoalescingUserSecurityLoader(roleRepository, totpRepository,
+                    new LoaderConfig(), new SimpleMeterRegistry());
+            callbackExecutor = new RpcCallbackExecutor(new CallbackExecutorConfig());
+
+            String serverName = InProcessServerBuilder.generateName();
+            inProcessServer = InProcessServerBuilder.forName(serverName)
+                    .addService(createInProcessService(config, auditPublisher, totpService,
+                            new UserSecurityService(userSecurityLoader, new UserCacheConfig()), callbackExecutor))
+                    .build()
+                    .start();
+            channels.add(InProcessChannelBuilder.forName(serverName).build());
+            log.info("进程内AuthService已启动: {}", serverName);
+        } else {
+            for (int i = 0; i < config.getChannels(); i++) {
+                channels.add(ManagedChannelBuilder.forTarget(config.getTarget())
+                        .usePlaintext()
+                        .build());
+            }
+            log.info("连接到AuthService: target={}, channels={}", config.getTarget(), config.getChannels());
+        }
+
+        for (ManagedChannel channel : channels) {
+            stubs.add(AuthServiceGrpc.newFutureStub(channel));
+        }
+    }
+
+    /**
+     * 轮询获取Stub
+     */
+    public AuthServiceGrpc.AuthServiceFutureStub nextStub() {
+        return stubs.get(Math.floorMod(next.getAndIncrement(), stubs.size()));
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        for (ManagedChannel channel : channels) {
+            channel.shutdown();
+        }
+        for (ManagedChannel channel : channels) {
+            channel.awaitTermination(5, TimeUnit.SECONDS);
+        }
+        if (inProcessServer != null) {
+            inProcessServer.shutdown();
+            inProcessServer.awaitTermination(5, TimeUnit.SECONDS);
+        }
+        if (userSecurityLoader != null) {
+            userSecurityLoader.close();
+        }
+        if (callbackExecutor != null) {
+            callbackExecutor.close();
+        }
+        if (auditPublisher != null) {
+            auditPublisher.stop();
+        }
+    }
+
+    private static AuthServiceGrpcImpl createInProcessService(LoadTestConfig config, AuditPublisher auditPublisher,
+                                                              TotpService totpService,
+                                                              UserSecurityService userSecurityService,
+                                                              RpcCallbackExecutor callbackExecutor) {
+        JwtConfig jwtConfig = new JwtConfig();
+        jwtConfig.setSecret(config.getJwtSecret());
+        jwtConfig.setIssuer(config.getJwtIssuer());
+        jwtConfig.setAccessTokenExpire(3600L);
+        jwtConfig.setRefreshTokenExpire(604800L);
+
+        // 压测Token和用户均为TRADER角色，授予订单资源的全部操作，其余请求被拒绝
+        PermissionConfig.Grant orderGrant = new PermissionConfig.Grant();
+        orderGrant.setResource("order:*");
+        orderGrant.setActions(List.of("*"));
+        PermissionConfig permissionConfig = new PermissionConfig();
+        permissionConfig.setRoles(Map.of("TRADER", List.of(orderGrant)));
+
+        RoleDictionary roleDictionary = new RoleDictionary(TokenPool.roleDictionaryConfig());
+
+        return new AuthServiceGrpcImpl(
+                new JwtTokenProvider(jwtConfig, roleDictionary, auditPublisher),
+                roleDictionary,
+                totpService,
+                new PermissionService(permissionConfig),
+                userSecurityService,
+                auditPublisher,
+                callbackExecutor);
+    }
+}
@@ -0,0 +1,196 @@
+package com.hkd.auth.loadtest.config;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Data;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 压测配置
+ * 通过命令行参数（--key=value）覆盖默认值
+ *
+ * @author HKD Team
+ * @since 1.0.0
+ */
+@Data
+public class LoadTestConfig {
+
+    /**
+     * 进程内模式的目标名称
+     */
+    public static final String IN_PROCESS_TARGET = "inprocess";
+
+    /**
+     * 压测目标：inprocess 或 host:port
+     */
+    private String target = "localhost:9013";
+
+    /**
+     * 固定到达速率（每秒请求数，所有RPC合计）
+     */
+    private int rate = 10000;
+
+    /**
+     * 预热时长（秒），预热期间的数据不计入最终结果
+     */
+    private int warmupSeconds = 10;
+
+    /**
+     * 测量时长（秒）
+     */
+    private int durationSeconds = 60;
+
+    /**
+     * 最大在途请求数，超出后发送线程等待（延迟仍从计划发送时间计算）
+     */
+    private int maxOutstanding = 20000;
+
+    /**
+     * 连接到真实服务时使用的Channel数量
+     */
+    private int channels = 4;
+
+    /**
+     * ValidateToken请求权重
+     */
+    private int validateTokenWeight = 90;
+
+    /**
+     * ValidateTOTP请求权重
+     */
+    private int validateTotpWeight = 5;
+
+    /**
+     * CheckPermission请求权重
+     */
+    private int checkPermissionWeight = 5;
+
+    /**
+     * Authorize请求权重
+     */
+    private int authorizeWeight = 0;
+
+    /**
+     * 有效Token权重
+     */
+    private int validTokenWeight = 80;
+
+    /**
+     * 过期Token权重
+     */
+    private int expiredTokenWeight = 10;
+
+    /**
+     * 伪造签名Token权重
+     */
+    private int forgedTokenWeight = 10;
+
+    /**
+     * 每种Token预生成的数量
+     */
+    private int tokenPoolSize = 1000;
+
+    /**
+     * 模拟用户数量
+     */
+    private int userCount = 10000;
+
+    /**
+     * JWT密钥（需与被测服务一致），不输出到结果文件
+     */
+    @JsonIgnore
+    private String jwtSecret = "hkd_jwt_secret_key_change_in_production_2024";
+
+    /**
+     * Token签发者
+     */
+    private String jwtIssuer = "hkd-exchange";
+
+    /**
+     * 结果输出目录
+     */
+    private String outputDir = "loadtest-results";
+
+    /**
+     * 区间直方图的上报间隔（秒）
+     */
+    private int reportIntervalSeconds = 1;
+
+    /**
+     * 是否为进程内模式
+     */
+    @JsonIgnore
+    public boolean isInProcess() {
+        return IN_PROCESS_TARGET.equalsIgnoreCase(target);
+    }
+
+    /**
+     * 从命令行参数解析配置
+     *
+     * @param args 形如 --rate=50000 --target=inprocess 的参数
+     * @return 压测配置
+     * @throws IllegalArgumentException 参数格式错误或未知参数
+     */
+    public static LoadTestConfig fromArgs(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("参数格式错误，应为 --key=value: " + arg);
+            }
+            int idx = arg.indexOf('=');
+            options.put(arg.substring(2, idx), arg.substring(idx + 1));
+        }
+
+        LoadTestConfig config = new LoadTestConfig();
+        options.forEach(config::apply);
+        config.validate();
+        return config;
+    }
+
+    private void apply(String key, String value) {
+        switch (key) {
+            case "target" -> target = value;
+            case "rate" -> rate = Integer.parseInt(value);
+            case "warmup-seconds" -> warmupSeconds = Integer.parseInt(value);
+            case "duration-seconds" -> durationSeconds = Integer.parseInt(value);
+            case "max-outstanding" -> maxOutstanding = Integer.parseInt(value);
+            case "channels" -> channels = Integer.parseInt(value);
+            case "validate-token-weight" -> validateTokenWeight = Integer.parseInt(value);
+            case "validate-totp-weight" -> validateTotpWeight = Integer.parseInt(value);
+            case "check-permission-weight" -> checkPermissionWeight = Integer.parseInt(value);
+            case "authorize-weight" -> authorizeWeight = Integer.parseInt(value);
+            case "valid-token-weight" -> validTokenWeight = Integer.parseInt(value);
+            case "expired-token-weight" -> expiredTokenWeight = Integer.parseInt(value);
+            case "forged-token-weight" -> forgedTokenWeight = Integer.parseInt(value);
+            case "token-pool-size" -> tokenPoolSize = Integer.parseInt(value);
+            case "user-count" -> userCount = Integer.parseInt(value);
+            case "jwt-secret" -> jwtSecret = value;
+            case "jwt-issuer" -> jwtIssuer = value;
+            case "output-dir" -> outputDir = value;
+            case "report-interval-seconds" -> reportIntervalSeconds = Integer.parseInt(value);
+            default -> throw new IllegalArgumentException("未知参数: --" + key);
+        }
+    }
+
+    private void validate() {
+        if (rate <= 0) {
+            throw new IllegalArgumentException("rate必须大于0");
+        }
+        if (durationSeconds <= 0 || warmupSeconds < 0) {
+            throw new IllegalArgumentException("压测时长配置错误");
+        }
+        if (maxOutstanding <= 0 || channels <= 0 || tokenPoolSize <= 0 || userCount <= 0) {
+            throw new IllegalArgumentException("max-outstanding/channels/token-pool-size/user-count必须大于0");
+        }
+        if (reportIntervalSeconds <= 0) {
+            throw new IllegalArgumentException("report-interval-seconds必须大于0");
+        }
+        if (validateTokenWeight + validateTotpWeight + checkPermissionWeight + authorizeWeight <= 0) {
+            throw new IllegalArgumentException("RPC权重之和必须大于0");
+        }
+        if (validTokenWeight + expiredTokenWeight + forgedTokenWeight <= 0) {
+            throw new IllegalArgumentException("Token权重之和必须大于0");
+        }
+    }
+}
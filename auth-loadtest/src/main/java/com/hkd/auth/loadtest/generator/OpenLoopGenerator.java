@@ -0,0 +1,193 @@
+package com.hkd.auth.loadtest.generator;
+
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.hkd.auth.grpc.AuthServiceGrpc;
+import com.hkd.auth.grpc.AuthorizeRequest;
+import com.hkd.auth.grpc.AuthorizeResponse;
+import com.hkd.auth.grpc.CheckPermissionRequest;
+import com.hkd.auth.grpc.PermissionCheck;
+import com.hkd.auth.grpc.ValidateTOTPRequest;
+import com.hkd.auth.grpc.ValidateTokenRequest;
+import com.hkd.auth.grpc.ValidateTokenResponse;
+import com.hkd.auth.loadtest.channel.AuthChannels;
+import com.hkd.auth.loadtest.config.LoadTestConfig;
+import com.hkd.auth.loadtest.metrics.RpcKind;
+import com.hkd.auth.loadtest.metrics.RpcStats;
+import com.hkd.auth.loadtest.token.TokenKind;
+import com.hkd.auth.loadtest.token.TokenPool;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 开环负载生成器
+ * 按固定到达速率发送请求，发送时间表不受响应速度影响；
+ * 响应时间从计划发送时间起算，从而修正协调遗漏（Coordinated Omission）
+ *
+ * @author HKD Team
+ * @since 1.0.0
+ */
+@Slf4j
+public class OpenLoopGenerator {
+
+    /**
+     * 剩余等待时间小于该值时自旋而不是park，减少调度误差
+     */
+    private static final long SPIN_THRESHOLD_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private static final List<String> RESOURCES = List.of("order:create", "order:cancel", "asset:withdraw");
+    private static final List<String> ACTIONS = List.of("create", "read", "update", "delete");
+
+    private final LoadTestConfig config;
+    private final AuthChannels channels;
+    private final TokenPool tokenPool;
+    private final Map<RpcKind, RpcStats> stats;
+    private final WeightedChooser<RpcKind> rpcChooser;
+    private final WeightedChooser<TokenKind> tokenChooser;
+    private final Semaphore outstanding;
+
+    public OpenLoopGenerator(LoadTestConfig config, AuthChannels channels, TokenPool tokenPool,
+                             Map<RpcKind, RpcStats> stats) {
+        this.config = config;
+        this.channels = channels;
+        this.tokenPool = tokenPool;
+        this.stats = stats;
+        this.outstanding = new Semaphore(config.getMaxOutstanding());
+        this.rpcChooser = new WeightedChooser<RpcKind>()
+                .add(RpcKind.VALIDATE_TOKEN, config.getValidateTokenWeight())
+                .add(RpcKind.VALIDATE_TOTP, config.getValidateTotpWeight())
+                .add(RpcKind.CHECK_PERMISSION, config.getCheckPermissionWeight())
+                .add(RpcKind.AUTHORIZE, config.getAuthorizeWeight());
+        this.tokenChooser = new WeightedChooser<TokenKind>()
+                .add(TokenKind.VALID, config.getValidTokenWeight())
+                .add(TokenKind.EXPIRED, config.getExpiredTokenWeight())
+                .add(TokenKind.FORGED, config.getForgedTokenWeight());
+    }
+
+    /**
+     * 按计划发送全部请求，阻塞直到所有请求完成
+     *
+     * @param startNanos 发送计划的起点（System.nanoTime）
+     * @return 计划发送的请求总数
+     */
+    public long run(long startNanos) throws InterruptedException {
+        long totalSeconds = config.getWarmupSeconds() + config.getDurationSeconds();
+        long endNanos = startNanos + TimeUnit.SECONDS.toNanos(totalSeconds);
+        double intervalNanos = 1_000_000_000.0 / config.getRate();
+
+        long sent = 0;
+        while (true) {
+            // 按序号计算计划时间，避免累积误差
+            long intendedStart = startNanos + (long) (sent * intervalNanos);
+            if (intendedStart >= endNanos) {
+                break;
+            }
+            waitUntil(intendedStart);
+            // 在途请求已满时等待；计划时间不变，等待时间计入响应时间
+            outstanding.acquire();
+            dispatch(intendedStart);
+            sent++;
+        }
+
+        log.info("请求发送完成: {}个，等待在途请求结束", sent);
+        if (!outstanding.tryAcquire(config.getMaxOutstanding(), 30, TimeUnit.SECONDS)) {
+            log.warn("等待在途请求超时，剩余{}个", config.getMaxOutstanding() - outstanding.availablePermits());
+        }
+        return sent;
+    }
+
+    private void dispatch(long intendedStart) {
+        RpcKind kind = rpcChooser.next();
+        RpcStats rpcStats = stats.get(kind);
+        AuthServiceGrpc.AuthServiceFutureStub stub = channels.nextStub();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String userId = "loadtest_user_" + random.nextInt(config.getUserCount());
+
+        long actualStart = System.nanoTime();
+        switch (kind) {
+            case VALIDATE_TOKEN -> {
+                TokenKind tokenKind = tokenChooser.next();
+                ValidateTokenRequest request = ValidateTokenRequest.newBuilder()
+                        .setAccessToken(tokenPool.next(tokenKind))
+                        .build();
+                ListenableFuture<ValidateTokenResponse> future = stub.validateToken(request);
+                // 只有有效Token才应通过验证
+                addCallback(future, rpcStats, intendedStart, actualStart,
+                        response -> response.getValid() == (tokenKind == TokenKind.VALID));
+            }
+            case VALIDATE_TOTP -> {
+                ValidateTOTPRequest request = ValidateTOTPRequest.newBuilder()
+                        .setUserId(userId)
+                        .setTotpCode(String.format("%06d", random.nextInt(1_000_000)))
+                        .build();
+                addCallback(stub.validateTOTP(request), rpcStats, intendedStart, actualStart, response -> true);
+            }
+            case CHECK_PERMISSION -> {
+                CheckPermissionRequest request = CheckPermissionRequest.newBuilder()
+                        .setUserId(userId)
+                        .setResource(RESOURCES.get(random.nextInt(RESOURCES.size())))
+                        .setAction(ACTIONS.get(random.nextInt(ACTIONS.size())))
+                        .build();
+                addCallback(stub.checkPermission(request), rpcStats, intendedStart, actualStart, response -> true);
+            }
+            case AUTHORIZE -> {
+                TokenKind tokenKind = tokenChooser.next();
+                AuthorizeRequest.Builder request = AuthorizeRequest.newBuilder()
+                        .setAccessToken(tokenPool.next(tokenKind));
+                int checks = 1 + random.nextInt(3);
+                for (int i = 0; i < checks; i++) {
+                    request.addChecks(PermissionCheck.newBuilder()
+                            .setResource(RESOURCES.get(random.nextInt(RESOURCES.size())))
+                            .setAction(ACTIONS.get(random.nextInt(ACTIONS.size()))));
+                }
+                ListenableFuture<AuthorizeResponse> future = stub.authorize(request.build());
+                addCallback(future, rpcStats, intendedStart, actualStart,
+                        response -> response.getValid() == (tokenKind == TokenKind.VALID));
+            }
+        }
+    }
+
+    private <T> void addCallback(ListenableFuture<T> future, RpcStats rpcStats, long intendedStart,
+                                 long actualStart, OutcomeCheck<T> outcomeCheck) {
+        Futures.addCallback(future, new FutureCallback<>() {
+            @Override
+            public void onSuccess(T response) {
+                rpcStats.recordSuccess(intendedStart, actualStart, System.nanoTime(), outcomeCheck.expected(response));
+                outstanding.release();
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                rpcStats.recordError(intendedStart, actualStart, System.nanoTime());
+                outstanding.release();
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
+    private static void waitUntil(long deadlineNanos) {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            if (remaining > SPIN_THRESHOLD_NANOS) {
+                LockSupport.parkNanos(remaining - SPIN_THRESHOLD_NANOS);
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    /**
+     * 响应结果是否符合预期
+     */
+    @FunctionalInterface
+    private interface OutcomeCheck<T> {
+        boolean expected(T response);
+    }
+}
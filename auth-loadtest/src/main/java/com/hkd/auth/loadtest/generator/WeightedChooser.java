@@ -0,0 +1,48 @@
+package com.hkd.auth.loadtest.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 按权重随机选择
+ *
+ * @author HKD Team
+ * @since 1.0.0
+ */
+public class WeightedChooser<T> {
+
+    private final List<T> items = new ArrayList<>();
+    private final List<Integer> cumulativeWeights = new ArrayList<>();
+    private int totalWeight;
+
+    /**
+     * 添加候选项，权重为0时忽略
+     *
+     * @throws IllegalArgumentException 权重为负数
+     */
+    public WeightedChooser<T> add(T item, int weight) {
+        if (weight < 0) {
+            throw new IllegalArgumentException("权重不能为负数: " + item + "=" + weight);
+        }
+        if (weight > 0) {
+            totalWeight += weight;
+            items.add(item);
+            cumulativeWeights.add(totalWeight);
+        }
+        return this;
+    }
+
+    /**
+     * 随机选择一项
+     */
+    public T next() {
+        int r = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (int i = 0; i < items.size(); i++) {
+            if (r < cumulativeWeights.get(i)) {
+                return items.get(i);
+            }
+        }
+        return items.get(items.size() - 1);
+    }
+}
@@ -0,0 +1,112 @@
+package com.hkd.auth.loadtest.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+
+import java.io.FileNotFoundException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 区间延迟上报
+ * 定期切换各RPC的区间直方图，写入HdrHistogram日志（.hlog）并打印进度
+ *
+ * @author HKD Team
+ * @since 1.0.0
+ */
+@Slf4j
+public class LatencyReporter implements AutoCloseable {
+
+    private final Map<RpcKind, RpcStats> stats;
+    private final HistogramLogWriter logWriter;
+    private final long measureStartMillis;
+    private long lastReportMillis;
+    private long measuredFromMillis = -1;
+    private long measuredToMillis = -1;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "loadtest-reporter");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /**
+     * @param stats              各RPC统计
+     * @param hlogFile           区间直方图日志文件
+     * @param measureStartMillis 测量阶段开始时间（此前为预热）
+     */
+    public LatencyReporter(Map<RpcKind, RpcStats> stats, Path hlogFile, long measureStartMillis)
+            throws FileNotFoundException {
+        this.stats = stats;
+        this.measureStartMillis = measureStartMillis;
+        this.logWriter = new HistogramLogWriter(hlogFile.toFile());
+
+        long now = System.currentTimeMillis();
+        this.lastReportMillis = now;
+        logWriter.outputLogFormatVersion();
+        logWriter.outputStartTime(now);
+        logWriter.setBaseTime(now);
+        logWriter.outputLegend();
+    }
+
+    /**
+     * 开始定期上报
+     */
+    public void start(int intervalSeconds) {
+        scheduler.scheduleAtFixedRate(this::report, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 停止定期上报并输出最后一个区间
+     */
+    @Override
+    public void close() throws InterruptedException {
+        scheduler.shutdown();
+        scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        report();
+        logWriter.close();
+    }
+
+    /**
+     * 实际测量窗口的时长：从第一个测量区间开始到最后一个测量区间结束，
+     * 与计入汇总直方图的数据范围一致
+     *
+     * @return 毫秒数，没有测量区间时为0
+     */
+    public synchronized long getMeasuredMillis() {
+        return measuredFromMillis < 0 ? 0 : measuredToMillis - measuredFromMillis;
+    }
+
+    private synchronized void report() {
+        // 区间开始时间早于测量开始时间的数据视为预热
+        long intervalStartMillis = lastReportMillis;
+        boolean measured = intervalStartMillis >= measureStartMillis;
+        lastReportMillis = System.currentTimeMillis();
+        if (measured) {
+            if (measuredFromMillis < 0) {
+                measuredFromMillis = intervalStartMillis;
+            }
+            measuredToMillis = lastReportMillis;
+        }
+        StringBuilder line = new StringBuilder(measured ? "[测量]" : "[预热]");
+
+        for (RpcStats rpcStats : stats.values()) {
+            Histogram interval = rpcStats.rollInterval(measured);
+            interval.setTag(rpcStats.getKind().getMetricName());
+            logWriter.outputIntervalHistogram(interval);
+
+            if (interval.getTotalCount() > 0) {
+                line.append(String.format(" %s: n=%d p50=%.0fus p99=%.0fus max=%.0fus;",
+                        rpcStats.getKind().getMetricName(),
+                        interval.getTotalCount(),
+                        interval.getValueAtPercentile(50) / 1000.0,
+                        interval.getValueAtPercentile(99) / 1000.0,
+                        interval.getMaxValue() / 1000.0));
+            }
+        }
+        log.info(line.toString());
+    }
+}
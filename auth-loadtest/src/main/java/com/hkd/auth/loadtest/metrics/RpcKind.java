@@ -0,0 +1,28 @@
+package com.hkd.auth.loadtest.metrics;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 压测覆盖的RPC
+ *
+ * @author HKD Team
+ * @since 1.0.0
+ */
+@Getter
+@RequiredArgsConstructor
+public enum RpcKind {
+
+    VALIDATE_TOKEN("validate_token"),
+
+    VALIDATE_TOTP("validate_totp"),
+
+    CHECK_PERMISSION("check_permission"),
+
+    AUTHORIZE("authorize");
+
+    /**
+     * 输出文件和日志中使用的名称
+     */
+    private final String metricName;
+}
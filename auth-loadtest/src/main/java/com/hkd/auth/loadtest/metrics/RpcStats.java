@@ -0,0 +1,111 @@
+package com.hkd.auth.loadtest.metrics;
+
+import lombok.Getter;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 单个RPC的压测统计
+ * 同时记录两种延迟：
+ * <ul>
+ *   <li>响应时间：从计划发送时间起算，已修正协调遗漏（Coordinated Omission）</li>
+ *   <li>服务时间：从实际发送时间起算，未修正，仅用于对比</li>
+ * </ul>
+ *
+ * @author HKD Team
+ * @since 1.0.0
+ */
+public class RpcStats {
+
+    /**
+     * 可记录的最大延迟（纳秒）
+     */
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    @Getter
+    private final RpcKind kind;
+
+    private final Recorder responseTimeRecorder = new Recorder(HIGHEST_TRACKABLE_NANOS, SIGNIFICANT_DIGITS);
+    private final Recorder serviceTimeRecorder = new Recorder(HIGHEST_TRACKABLE_NANOS, SIGNIFICANT_DIGITS);
+
+    /**
+     * 测量阶段（预热之后）的累计直方图，仅由上报线程访问
+     */
+    @Getter
+    private final Histogram responseTimeTotal = new Histogram(HIGHEST_TRACKABLE_NANOS, SIGNIFICANT_DIGITS);
+    @Getter
+    private final Histogram serviceTimeTotal = new Histogram(HIGHEST_TRACKABLE_NANOS, SIGNIFICANT_DIGITS);
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder mismatches = new LongAdder();
+
+    private Histogram responseTimeInterval;
+    private Histogram serviceTimeInterval;
+
+    public RpcStats(RpcKind kind) {
+        this.kind = kind;
+    }
+
+    /**
+     * 记录一次成功完成的调用
+     *
+     * @param intendedStartNanos 计划发送时间
+     * @param actualStartNanos   实际发送时间
+     * @param endNanos           收到响应的时间
+     * @param expectedOutcome    响应结果是否符合预期（如过期Token应被拒绝）
+     */
+    public void recordSuccess(long intendedStartNanos, long actualStartNanos, long endNanos, boolean expectedOutcome) {
+        record(intendedStartNanos, actualStartNanos, endNanos);
+        completed.increment();
+        if (!expectedOutcome) {
+            mismatches.increment();
+        }
+    }
+
+    /**
+     * 记录一次以gRPC错误结束的调用
+     */
+    public void recordError(long intendedStartNanos, long actualStartNanos, long endNanos) {
+        record(intendedStartNanos, actualStartNanos, endNanos);
+        errors.increment();
+    }
+
+    /**
+     * 切换区间直方图，返回本区间的响应时间直方图
+     * 仅由上报线程调用
+     *
+     * @param measured 本区间是否计入最终结果（预热阶段为false）
+     */
+    public Histogram rollInterval(boolean measured) {
+        responseTimeInterval = responseTimeRecorder.getIntervalHistogram(responseTimeInterval);
+        serviceTimeInterval = serviceTimeRecorder.getIntervalHistogram(serviceTimeInterval);
+        if (measured) {
+            responseTimeTotal.add(responseTimeInterval);
+            serviceTimeTotal.add(serviceTimeInterval);
+        }
+        return responseTimeInterval;
+    }
+
+    public long getCompleted() {
+        return completed.sum();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    public long getMismatches() {
+        return mismatches.sum();
+    }
+
+    private void record(long intendedStartNanos, long actualStartNanos, long endNanos) {
+        responseTimeRecorder.recordValue(Math.min(endNanos - intendedStartNanos, HIGHEST_TRACKABLE_NANOS));
+        serviceTimeRecorder.recordValue(Math.min(endNanos - actualStartNanos, HIGHEST_TRACKABLE_NANOS));
+    }
+}
@@ -0,0 +1,99 @@
+package com.hkd.auth.loadtest.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.hkd.auth.loadtest.config.LoadTestConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 压测结果输出
+ * <ul>
+ *   <li>{rpc}.hgrm / {rpc}-service-time.hgrm：完整百分位分布（微秒）</li>
+ *   <li>summary.json：机器可读汇总，用于回归对比</li>
+ * </ul>
+ *
+ * @author HKD Team
+ * @since 1.0.0
+ */
+@Slf4j
+public class SummaryWriter {
+
+    /**
+     * 纳秒 → 微秒
+     */
+    private static final double NANOS_PER_MICRO = 1000.0;
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9, 99.99};
+    private static final String[] PERCENTILE_KEYS = {"p50", "p90", "p99", "p99_9", "p99_99"};
+
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    /**
+     * 输出全部结果文件
+     *
+     * @param outputDir 输出目录
+     * @param config    压测配置
+     * @param stats     各RPC统计
+     * @param scheduled 计划发送的请求总数
+     * @param measuredMillis 实际测量窗口时长（毫秒），见 {@link LatencyReporter#getMeasuredMillis()}
+     */
+    public void write(Path outputDir, LoadTestConfig config, Map<RpcKind, RpcStats> stats, long scheduled,
+                      long measuredMillis) throws IOException {
+        Map<String, Object> rpcs = new LinkedHashMap<>();
+        for (RpcStats rpcStats : stats.values()) {
+            String name = rpcStats.getKind().getMetricName();
+            writeDistribution(outputDir.resolve(name + ".hgrm"), rpcStats.getResponseTimeTotal());
+            writeDistribution(outputDir.resolve(name + "-service-time.hgrm"), rpcStats.getServiceTimeTotal());
+
+            Map<String, Object> rpc = new LinkedHashMap<>();
+            long measuredCount = rpcStats.getResponseTimeTotal().getTotalCount();
+            rpc.put("measuredCount", measuredCount);
+            rpc.put("throughputPerSecond", measuredMillis > 0 ? measuredCount * 1000.0 / measuredMillis : 0.0);
+            rpc.put("completed", rpcStats.getCompleted());
+            rpc.put("errors", rpcStats.getErrors());
+            rpc.put("unexpectedOutcomes", rpcStats.getMismatches());
+            rpc.put("responseTimeMicros", latencySummary(rpcStats.getResponseTimeTotal()));
+            rpc.put("serviceTimeMicros", latencySummary(rpcStats.getServiceTimeTotal()));
+            rpcs.put(name, rpc);
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("finishedAt", Instant.now().toString());
+        summary.put("config", config);
+        summary.put("scheduledRequests", scheduled);
+        summary.put("measuredSeconds", measuredMillis / 1000.0);
+        summary.put("rpcs", rpcs);
+
+        Path summaryFile = outputDir.resolve("summary.json");
+        objectMapper.writeValue(summaryFile.toFile(), summary);
+        log.info("压测结果已输出: {}", outputDir.toAbsolutePath());
+    }
+
+    private static Map<String, Object> latencySummary(Histogram histogram) {
+        Map<String, Object> latency = new LinkedHashMap<>();
+        if (histogram.getTotalCount() == 0) {
+            return latency;
+        }
+        latency.put("mean", histogram.getMean() / NANOS_PER_MICRO);
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            latency.put(PERCENTILE_KEYS[i], histogram.getValueAtPercentile(PERCENTILES[i]) / NANOS_PER_MICRO);
+        }
+        latency.put("max", histogram.getMaxValue() / NANOS_PER_MICRO);
+        return latency;
+    }
+
+    private static void writeDistribution(Path file, Histogram histogram) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            histogram.outputPercentileDistribution(out, NANOS_PER_MICRO);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.hkd.auth.loadtest.token;
+
+/**
+ * 压测Token类型
+ *
+ * @author HKD Team
+ * @since 1.0.0
+ */
+public enum TokenKind {
+
+    /**
+     * 有效的Access Token
+     */
+    VALID,
+
+    /**
+     * 已过期的Access Token
+     */
+    EXPIRED,
+
+    /**
+     * 使用错误密钥签名的Token
+     */
+    FORGED
+}
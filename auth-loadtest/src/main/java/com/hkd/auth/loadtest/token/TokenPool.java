@@ -0,0 +1,105 @@
+package com.hkd.auth.loadtest.token;
+
+import com.hkd.auth.application.config.RoleDictionaryConfig;
+import com.hkd.auth.application.service.JwtTokenProvider;
+import com.hkd.auth.application.service.RoleDictionary;
+import com.hkd.auth.domain.user.RoleMask;
+import com.hkd.auth.loadtest.config.LoadTestConfig;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 预生成的压测Token池
+ * 在压测开始前一次性生成，避免签名开销进入发送路径
+ *
+ * @author HKD Team
+ * @since 1.0.0
+ */
+@Slf4j
+public class TokenPool {
+
+    /**
+     * 按压测角色字典编码
+     */
+    private static final RoleMask ROLES = new RoleDictionary(roleDictionaryConfig())
+            .encode(List.of("USER", "TRADER"));
+
+    private final Map<TokenKind, List<String>> tokens = new EnumMap<>(TokenKind.class);
+
+    /**
+     * 压测使用的角色字典，与服务端 application.yml 中的 hkd.role-dictionary 一致，进程内服务也使用该配置
+     */
+    public static RoleDictionaryConfig roleDictionaryConfig() {
+        RoleDictionaryConfig roleDictionaryConfig = new RoleDictionaryConfig();
+        roleDictionaryConfig.setCurrentVersion(1);
+        roleDictionaryConfig.setVersions(Map.of(1, List.of("USER", "TRADER", "ADMIN")));
+        return roleDictionaryConfig;
+    }
+
+    public TokenPool(LoadTestConfig config) {
+        byte[] keyBytes = config.getJwtSecret().getBytes(StandardCharsets.UTF_8);
+        SecretKey signingKey = Keys.hmacShaKeyFor(keyBytes);
+        // 伪造Token：格式、算法和声明完全正确，仅签名密钥不同（等长密钥保证算法一致）
+        byte[] forgedBytes = keyBytes.clone();
+        for (int i = 0; i < forgedBytes.length; i++) {
+            forgedBytes[i] ^= 0x5A;
+        }
+        SecretKey forgedKey = Keys.hmacShaKeyFor(forgedBytes);
+
+        Instant now = Instant.now();
+        // 有效Token需覆盖整个压测过程
+        long validSeconds = config.getWarmupSeconds() + config.getDurationSeconds() + 3600L;
+
+        for (TokenKind kind : TokenKind.values()) {
+            List<String> list = new ArrayList<>(config.getTokenPoolSize());
+            for (int i = 0; i < config.getTokenPoolSize(); i++) {
+                String userId = "loadtest_user_" + (i % config.getUserCount());
+                list.add(switch (kind) {
+                    case VALID -> sign(userId, config.getJwtIssuer(), now, now.plusSeconds(validSeconds), signingKey);
+                    case EXPIRED -> sign(userId, config.getJwtIssuer(),
+                            now.minusSeconds(7200), now.minusSeconds(3600), signingKey);
+                    case FORGED -> sign(userId, config.getJwtIssuer(), now, now.plusSeconds(validSeconds), forgedKey);
+                });
+            }
+            tokens.put(kind, list);
+        }
+
+        log.info("Token池生成完成: 每种类型{}个", config.getTokenPoolSize());
+    }
+
+    /**
+     * 随机获取指定类型的Token
+     */
+    public String next(TokenKind kind) {
+        List<String> list = tokens.get(kind);
+        return list.get(ThreadLocalRandom.current().nextInt(list.size()));
+    }
+
+    private static String sign(String userId, String issuer, Instant issuedAt, Instant expiry, SecretKey key) {
+        return Jwts.builder()
+                .subject(userId)
+                .id(UUID.randomUUID().toString())
+                .claim("username", userId)
+                .claim("email", userId + "@loadtest.hkd")
+                .claim(JwtTokenProvider.CLAIM_ROLE_MASK, ROLES.mask())
+                .claim(JwtTokenProvider.CLAIM_ROLE_DICTIONARY_VERSION, ROLES.dictionaryVersion())
+                .claim("type", "access")
+                .issuer(issuer)
+                .issuedAt(Date.from(issuedAt))
+                .expiration(Date.from(expiry))
+                .signWith(key)
+                .compact();
+    }
+}
@@ -0,0 +1,88 @@
+package com.hkd.auth.loadtest.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoadTestConfigTest {
+
+    @Test
+    void appliesKnownOptionsOverDefaults() {
+        LoadTestConfig config = LoadTestConfig.fromArgs(new String[]{
+                "--target=inprocess", "--rate=50000", "--duration-seconds=30", "--authorize-weight=7",
+                "--output-dir=out=1"});
+
+        assertTrue(config.isInProcess());
+        assertEquals(50000, config.getRate());
+        assertEquals(30, config.getDurationSeconds());
+        assertEquals(7, config.getAuthorizeWeight());
+        // 只按第一个等号拆分
+        assertEquals("out=1", config.getOutputDir());
+        assertEquals(10, config.getWarmupSeconds());
+    }
+
+    @Test
+    void noArgumentsKeepsDefaults() {
+        LoadTestConfig config = LoadTestConfig.fromArgs(new String[0]);
+
+        assertFalse(config.isInProcess());
+        assertEquals(10000, config.getRate());
+        assertEquals(60, config.getDurationSeconds());
+    }
+
+    @Test
+    void rejectsUnknownOption() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> LoadTestConfig.fromArgs(new String[]{"--rates=100"}));
+        assertTrue(e.getMessage().contains("--rates"));
+    }
+
+    @Test
+    void rejectsMalformedArguments() {
+        assertThrows(IllegalArgumentException.class, () -> LoadTestConfig.fromArgs(new String[]{"rate=100"}));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestConfig.fromArgs(new String[]{"--rate"}));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestConfig.fromArgs(new String[]{"-rate=100"}));
+        assertThrows(NumberFormatException.class, () -> LoadTestConfig.fromArgs(new String[]{"--rate=fast"}));
+    }
+
+    @Test
+    void rejectsOutOfRangeValues() {
+        assertThrows(IllegalArgumentException.class, () -> LoadTestConfig.fromArgs(new String[]{"--rate=0"}));
+        assertThrows(IllegalArgumentException.class,
+                () -> LoadTestConfig.fromArgs(new String[]{"--duration-seconds=0"}));
+        assertThrows(IllegalArgumentException.class,
+                () -> LoadTestConfig.fromArgs(new String[]{"--warmup-seconds=-1"}));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestConfig.fromArgs(new String[]{"--channels=0"}));
+        assertThrows(IllegalArgumentException.class,
+                () -> LoadTestConfig.fromArgs(new String[]{"--report-interval-seconds=0"}));
+    }
+
+    @Test
+    void rejectsZeroRpcWeightSum() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> LoadTestConfig.fromArgs(new String[]{
+                        "--validate-token-weight=0", "--validate-totp-weight=0",
+                        "--check-permission-weight=0", "--authorize-weight=0"}));
+        assertEquals("RPC权重之和必须大于0", e.getMessage());
+    }
+
+    @Test
+    void rejectsZeroTokenWeightSum() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> LoadTestConfig.fromArgs(new String[]{
+                        "--valid-token-weight=0", "--expired-token-weight=0", "--forged-token-weight=0"}));
+        assertEquals("Token权重之和必须大于0", e.getMessage());
+    }
+
+    @Test
+    void allowsSingleNonZeroWeight() {
+        LoadTestConfig config = LoadTestConfig.fromArgs(new String[]{
+                "--validate-token-weight=0", "--validate-totp-weight=0",
+                "--check-permission-weight=0", "--authorize-weight=1"});
+
+        assertEquals(1, config.getAuthorizeWeight());
+    }
+}
@@ -0,0 +1,73 @@
+package com.hkd.auth.loadtest.generator;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WeightedChooserTest {
+
+    @Test
+    void singleItemIsAlwaysChosen() {
+        WeightedChooser<String> chooser = new WeightedChooser<String>().add("a", 3);
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals("a", chooser.next());
+        }
+    }
+
+    @Test
+    void zeroWeightItemIsNeverChosen() {
+        WeightedChooser<String> chooser = new WeightedChooser<String>()
+                .add("a", 1)
+                .add("never", 0)
+                .add("b", 1);
+
+        Map<String, Integer> counts = sample(chooser, 10_000);
+        assertFalse(counts.containsKey("never"));
+        assertTrue(counts.containsKey("a"));
+        assertTrue(counts.containsKey("b"));
+    }
+
+    @Test
+    void selectionFrequencyFollowsWeights() {
+        WeightedChooser<String> chooser = new WeightedChooser<String>()
+                .add("high", 90)
+                .add("mid", 9)
+                .add("low", 1);
+
+        int samples = 200_000;
+        Map<String, Integer> counts = sample(chooser, samples);
+        // 期望比例90%/9%/1%，容差远大于二项分布的标准差
+        assertEquals(0.90, counts.get("high") / (double) samples, 0.01);
+        assertEquals(0.09, counts.get("mid") / (double) samples, 0.01);
+        assertEquals(0.01, counts.getOrDefault("low", 0) / (double) samples, 0.005);
+    }
+
+    @Test
+    void rejectsNegativeWeight() {
+        WeightedChooser<String> chooser = new WeightedChooser<>();
+
+        assertThrows(IllegalArgumentException.class, () -> chooser.add("a", -1));
+    }
+
+    @Test
+    void emptyChooserCannotChoose() {
+        WeightedChooser<String> chooser = new WeightedChooser<String>().add("a", 0);
+
+        assertThrows(IllegalArgumentException.class, chooser::next);
+    }
+
+    private static Map<String, Integer> sample(WeightedChooser<String> chooser, int samples) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < samples; i++) {
+            counts.merge(chooser.next(), 1, Integer::sum);
+        }
+        return counts;
+    }
+}